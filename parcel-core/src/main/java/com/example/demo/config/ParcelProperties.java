@@ -0,0 +1,158 @@
+package com.example.demo.config;
+
+import com.example.demo.util.UuidStrategy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "parcel")
+public class ParcelProperties {
+
+    private Batch batch = new Batch();
+    private Cache cache = new Cache();
+    private Export export = new Export();
+    private TrackingNumber trackingNumber = new TrackingNumber();
+    private Statistic statistic = new Statistic();
+    private GroupCommit groupCommit = new GroupCommit();
+    private StatusChanges statusChanges = new StatusChanges();
+    private Columnar columnar = new Columnar();
+    private DbLimiter dbLimiter = new DbLimiter();
+    private ReadReplicas readReplicas = new ReadReplicas();
+
+    @Data
+    public static class Batch {
+        private int maxSize = 10_000;
+        private int statusChunkSize = 1_000;
+    }
+
+    @Data
+    public static class GroupCommit {
+        private boolean enabled;
+        private int maxBatchSize = 100;
+        private Duration maxDelay = Duration.ofNanos(500_000);
+        private int queueCapacity = 10_000;
+        private Duration commitTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class DbLimiter {
+        private boolean enabled;
+        // Zero means the Hikari maximum pool size
+        private int maxConcurrency;
+        // Null means the Hikari connection timeout
+        private Duration acquireTimeout;
+    }
+
+    @Data
+    public static class ReadReplicas {
+        private boolean enabled;
+        // A client that wrote within this window reads from the primary
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+        private List<ReplicaPool> pools = new ArrayList<>();
+    }
+
+    @Data
+    public static class ReplicaPool {
+        private String url;
+        // Null means the primary's credentials
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+
+    @Data
+    public static class Columnar {
+        private boolean enabled;
+        private int reindexThreshold = 65_536;
+    }
+
+    @Data
+    public static class StatusChanges {
+        private int bufferSize = 8_192;
+        private int maxSubscribers = 1_000;
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+        private StatusChangeOverflow overflow = StatusChangeOverflow.DROP;
+    }
+
+    public enum StatusChangeOverflow {
+        DROP,
+        DISCONNECT
+    }
+
+    @Data
+    public static class Statistic {
+        private ApproximateStatistic approximate = new ApproximateStatistic();
+        private StatisticJobs jobs = new StatisticJobs();
+        private PartitionedStatistic partitioned = new PartitionedStatistic();
+        private RollupStatistic rollup = new RollupStatistic();
+    }
+
+    @Data
+    public static class RollupStatistic {
+        private boolean enabled;
+        private Duration compactInterval = Duration.ofSeconds(1);
+        private Duration reconcileInterval = Duration.ofHours(1);
+        private boolean repair = true;
+    }
+
+    @Data
+    public static class PartitionedStatistic {
+        private int partitions = 1;
+        private int parallelism = 4;
+    }
+
+    @Data
+    public static class ApproximateStatistic {
+        private double defaultSamplePercent = 1;
+        private double relativeAccuracy = 0.01;
+        private int fetchSize = 5_000;
+    }
+
+    @Data
+    public static class StatisticJobs {
+        private int poolSize = 2;
+        private int queueCapacity = 16;
+        private long maxRetained = 1_000;
+        private Duration retention = Duration.ofMinutes(15);
+    }
+
+    @Data
+    public static class TrackingNumber {
+        private UuidStrategy strategy = UuidStrategy.RANDOM;
+    }
+
+    @Data
+    public static class Export {
+        private int fetchSize = 1_000;
+        // Zero means an export runs as long as it takes
+        private Duration timeout = Duration.ZERO;
+    }
+
+    @Data
+    public static class Cache {
+        private CacheSpec trackingNumber = new CacheSpec();
+        private StatisticCache statistic = new StatisticCache();
+    }
+
+    @Data
+    public static class StatisticCache {
+        private long maximumSize = 1_000;
+        private StatisticCacheMode mode = StatisticCacheMode.GENERATION;
+        private Duration ttl = Duration.ofSeconds(5);
+    }
+
+    public enum StatisticCacheMode {
+        GENERATION,
+        TTL,
+    }
+
+    @Data
+    public static class CacheSpec {
+        private long maximumSize = 100_000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
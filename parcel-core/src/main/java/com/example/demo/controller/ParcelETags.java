@@ -0,0 +1,53 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ParcelCursorPage;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.model.Parcel;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.Objects;
+
+/**
+ * ETags derived from parcel versions, so they can be checked before anything is serialized. All of them are weak:
+ * the same version is served as JSON or CBOR depending on {@code Accept}, so a tag identifies the content, not
+ * the bytes. A single parcel gets its version. A page gets a hash of the ids and versions of its content with
+ * the paging metadata.
+ * <p>
+ * Lives in the shared module so the blocking and the reactive API tag the same parcels alike.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ParcelETags {
+
+    private static final long SEED = 0xcbf29ce484222325L;
+
+    public static String of(Parcel parcel) {
+        return "W/\"" + parcel.getVersion() + "\"";
+    }
+
+    public static String of(Page<ParcelView> page) {
+        long hash = mix(mix(mix(SEED, page.getTotalElements()), page.getNumber()), page.getSize());
+        for (ParcelView view : page.getContent()) {
+            hash = mix(mix(hash, view.id()), view.version());
+        }
+        return weak(hash);
+    }
+
+    public static String of(ParcelCursorPage page) {
+        long hash = mix(mix(SEED, page.isHasNext() ? 1 : 0), Objects.hashCode(page.getNextCursor()));
+        for (Parcel parcel : page.getContent()) {
+            hash = mix(mix(hash, parcel.getId()), parcel.getVersion());
+        }
+        return weak(hash);
+    }
+
+    // 64-bit FNV-1a style mixing of whole longs
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+
+    private static String weak(long hash) {
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+}
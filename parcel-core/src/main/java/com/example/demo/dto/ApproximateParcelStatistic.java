@@ -0,0 +1,34 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Statistic estimated from a table sample. Counts in {@link #statistic} are scaled up to the whole table and
+ * its extreme parcels are not set. Errors are half-widths of a confidence interval at {@link #confidenceLevel};
+ * {@code null} when the sample is too small to tell. A count with no sampled parcels is {@code 0} and its error is
+ * the upper bound of the interval instead. Averages and percentiles are {@code null} when nothing was sampled.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApproximateParcelStatistic {
+    private ParcelStatistic statistic;
+    private double samplePercent;
+    private long sampledParcels;
+    private double confidenceLevel;
+    private Double totalParcelsError;
+    private Double averageWeightError;
+    private Double averagePriceError;
+    private Map<ParcelStatus, Double> parcelsCountByStatusError;
+    private Map<DeliveryType, Double> parcelsCountByDeliveryTypeError;
+    private Percentiles weightPercentiles;
+    private Percentiles pricePercentiles;
+}
@@ -0,0 +1,30 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.ParcelStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateParcelStatusRequest {
+    private ParcelStatus status;
+    @Builder.Default
+    private List<Item> items = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String trackingNumber;
+        private ParcelStatus status;
+        private Long version;
+    }
+}
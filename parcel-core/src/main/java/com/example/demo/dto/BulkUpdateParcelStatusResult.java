@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateParcelStatusResult {
+    private String trackingNumber;
+    private Outcome outcome;
+    private Long version;
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        CONFLICT,
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Parcel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelCursorPage {
+    private List<Parcel> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
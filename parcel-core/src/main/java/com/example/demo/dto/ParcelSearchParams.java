@@ -16,6 +16,8 @@ import java.util.List;
 @AllArgsConstructor
 public class ParcelSearchParams {
     private String trackingNumber;
+    @Builder.Default
+    private TextMatchMode trackingNumberMatch = TextMatchMode.CONTAINS;
     private String sender;
     private String recipient;
     private Double fromWeight;
@@ -11,6 +11,10 @@ import lombok.experimental.FieldNameConstants;
 
 import java.util.Map;
 
+/**
+ * Averages are {@code 0} when no parcel matches, except in an {@link ApproximateParcelStatistic}, where they are
+ * {@code null} when no parcel was sampled.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,8 +22,8 @@ import java.util.Map;
 @FieldNameConstants
 public class ParcelStatistic {
     private long totalParcels;
-    private double averageWeight;
-    private double averagePrice;
+    private Double averageWeight;
+    private Double averagePrice;
     private Map<ParcelStatus, Long> parcelsCountByStatus;
     private Map<DeliveryType, Long> parcelsCountByDeliveryType;
     private Parcel mostExpensiveParcel;
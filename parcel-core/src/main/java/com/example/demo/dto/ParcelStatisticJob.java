@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParcelStatisticJob {
+    private String id;
+    private StatisticJobStatus status;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private ParcelStatistic statistic;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.ParcelStatus;
+
+import java.time.Instant;
+
+public record ParcelStatusChange(long sequence,
+                                 String trackingNumber,
+                                 String sender,
+                                 String recipient,
+                                 ParcelStatus status,
+                                 long version,
+                                 Instant changedAt) {
+}
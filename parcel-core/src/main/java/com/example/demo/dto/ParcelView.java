@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+
+public record ParcelView(Long id,
+                         String trackingNumber,
+                         String sender,
+                         String recipient,
+                         double weight,
+                         double price,
+                         ParcelStatus status,
+                         DeliveryType deliveryType,
+                         long version) {
+}
@@ -12,4 +12,5 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class UpdateParcelStatusRequest {
     private ParcelStatus status;
+    private Long version;
 }
@@ -13,7 +13,8 @@ import lombok.experimental.FieldNameConstants;
 @FieldNameConstants
 public class Parcel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "parcel_id_seq")
+    @SequenceGenerator(name = "parcel_id_seq", sequenceName = "parcel_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
@@ -37,4 +38,8 @@ public class Parcel {
     @Enumerated(EnumType.STRING)
     @Column(name = "delivery_type", nullable = false, length = 20)
     private DeliveryType deliveryType;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
 }
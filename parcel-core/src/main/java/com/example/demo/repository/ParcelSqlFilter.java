@@ -0,0 +1,67 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.TextMatchMode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import static com.example.demo.util.LikePatterns.LIKE_ESCAPE;
+import static com.example.demo.util.LikePatterns.escapeLike;
+
+/**
+ * Plain SQL rendering of {@link ParcelSpecifications} for native queries over the {@code parcel} table,
+ * with positional parameters. Keep the two in sync.
+ */
+public record ParcelSqlFilter(String where, List<Object> parameters) {
+
+    public static ParcelSqlFilter of(ParcelSearchParams params) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (params != null) {
+            if (params.getTrackingNumberMatch() == TextMatchMode.PREFIX) {
+                like(conditions, parameters, "tracking_number", params.getTrackingNumber(), "", "%");
+            } else {
+                like(conditions, parameters, "tracking_number", params.getTrackingNumber(), "%", "%");
+            }
+            like(conditions, parameters, "sender", params.getSender(), "%", "%");
+            like(conditions, parameters, "recipient", params.getRecipient(), "%", "%");
+            compare(conditions, parameters, "weight", ">=", params.getFromWeight());
+            compare(conditions, parameters, "weight", "<=", params.getToWeight());
+            compare(conditions, parameters, "price", ">=", params.getFromPrice());
+            compare(conditions, parameters, "price", "<=", params.getToPrice());
+            in(conditions, parameters, "status", params.getStatuses());
+            in(conditions, parameters, "delivery_type", params.getDeliveryTypes());
+        }
+        return new ParcelSqlFilter(conditions.isEmpty() ? "TRUE" : String.join(" AND ", conditions), parameters);
+    }
+
+    private static void like(List<String> conditions, List<Object> parameters, String column, String value,
+                             String prefix, String suffix) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        conditions.add("lower(" + column + ") LIKE ? ESCAPE '" + LIKE_ESCAPE + "'");
+        parameters.add(prefix + escapeLike(value.toLowerCase(Locale.ROOT)) + suffix);
+    }
+
+    private static void compare(List<String> conditions, List<Object> parameters, String column, String operator,
+                                Double value) {
+        if (value == null) {
+            return;
+        }
+        conditions.add(column + " " + operator + " ?");
+        parameters.add(value);
+    }
+
+    private static void in(List<String> conditions, List<Object> parameters, String column,
+                           Collection<? extends Enum<?>> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        conditions.add(column + " IN (" + String.join(", ", values.stream().map(value -> "?").toList()) + ")");
+        values.forEach(value -> parameters.add(value.name()));
+    }
+}
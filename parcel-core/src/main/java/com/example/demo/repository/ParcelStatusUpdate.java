@@ -0,0 +1,6 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.ParcelStatus;
+
+public record ParcelStatusUpdate(String trackingNumber, ParcelStatus status, Long expectedVersion) {
+}
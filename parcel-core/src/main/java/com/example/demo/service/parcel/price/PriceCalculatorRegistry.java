@@ -0,0 +1,36 @@
+package com.example.demo.service.parcel.price;
+
+import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.exception.NotFoundException;
+import com.example.demo.model.DeliveryType;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class PriceCalculatorRegistry {
+
+    private final Map<DeliveryType, PriceCalculator> calculators = new EnumMap<>(DeliveryType.class);
+
+    public PriceCalculatorRegistry(List<PriceCalculator> calculators) {
+        for (PriceCalculator calculator : calculators) {
+            PriceCalculator previous = this.calculators.put(calculator.getDeliveryType(), calculator);
+            if (previous != null) {
+                throw new IllegalStateException("Several price calculators registered for delivery type "
+                        + calculator.getDeliveryType());
+            }
+        }
+    }
+
+    public double calculatePrice(CreateParcelRequest request) {
+        PriceCalculator calculator = request.getDeliveryType() == null
+                ? null
+                : calculators.get(request.getDeliveryType());
+        if (calculator == null) {
+            throw new NotFoundException("Price calculator for delivery type " + request.getDeliveryType() + " not found");
+        }
+        return calculator.calculatePrice(request);
+    }
+}
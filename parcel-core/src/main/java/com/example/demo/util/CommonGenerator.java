@@ -0,0 +1,18 @@
+package com.example.demo.util;
+
+import com.example.demo.config.ParcelProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CommonGenerator {
+
+    private final UuidStrategy uuidStrategy;
+
+    public CommonGenerator(ParcelProperties properties) {
+        this.uuidStrategy = properties.getTrackingNumber().getStrategy();
+    }
+
+    public String uuid() {
+        return uuidStrategy.next().toString();
+    }
+}
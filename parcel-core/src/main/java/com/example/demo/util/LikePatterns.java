@@ -0,0 +1,25 @@
+package com.example.demo.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Escaping of user text for SQL {@code LIKE} patterns, shared by the criteria and the plain SQL filters.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class LikePatterns {
+
+    public static final char LIKE_ESCAPE = '\\';
+
+    public static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+public enum UuidStrategy {
+
+    /**
+     * Random version 4 UUIDs from the JDK, all threads share one {@link SecureRandom}.
+     */
+    RANDOM {
+        @Override
+        public UUID next() {
+            return UUID.randomUUID();
+        }
+    },
+
+    /**
+     * Version 7 UUIDs: a 48-bit millisecond timestamp followed by 74 random bits. Consecutive values land
+     * next to each other in the tracking number index. The random bits come from {@link ThreadLocalRandom},
+     * whose state lives in the current thread, so concurrent creates share no lock. They keep values unique,
+     * not unguessable.
+     */
+    TIME_ORDERED {
+        @Override
+        public UUID next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+            long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+            return new UUID(mostSigBits, leastSigBits);
+        }
+    },
+    ;
+
+    public abstract UUID next();
+}
@@ -0,0 +1,19 @@
+package com.example.demo.reactive;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.service.parcel.price.PriceCalculator;
+import com.example.demo.util.CommonGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+@SpringBootApplication(scanBasePackageClasses = {
+		ReactiveParcelApplication.class, PriceCalculator.class, CommonGenerator.class})
+@EnableConfigurationProperties(ParcelProperties.class)
+public class ReactiveParcelApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveParcelApplication.class, args);
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.example.demo.reactive.controller;
+
+import com.example.demo.controller.ParcelETags;
+import com.example.demo.dto.BulkUpdateParcelStatusRequest;
+import com.example.demo.dto.BulkUpdateParcelStatusResult;
+import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.dto.UpdateParcelStatusRequest;
+import com.example.demo.model.Parcel;
+import com.example.demo.reactive.service.ReactiveParcelService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The {@code /parcels} endpoints of {@code ParcelController} that have a direct reactive counterpart, with the
+ * same paths, bodies and ETags.
+ */
+@RestController
+@RequestMapping("/parcels")
+@RequiredArgsConstructor
+public class ReactiveParcelController {
+
+    private final ReactiveParcelService parcelService;
+
+    @GetMapping("/{trackingNumber}")
+    public Mono<ResponseEntity<Parcel>> findByTrackingNumber(@PathVariable("trackingNumber") String trackingNumber) {
+        return parcelService.getByTrackingNumber(trackingNumber)
+                .map(parcel -> ResponseEntity.ok().eTag(ParcelETags.of(parcel)).varyBy(HttpHeaders.ACCEPT).body(parcel));
+    }
+
+    // Serialized as PagedModel, like the blocking application's VIA_DTO page serialization mode
+    @GetMapping
+    public Mono<ResponseEntity<PagedModel<ParcelView>>> findAll(ParcelSearchParams params, Pageable pageable) {
+        return parcelService.findAllViews(params, pageable)
+                .map(page -> ResponseEntity.ok()
+                        .eTag(ParcelETags.of(page))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(new PagedModel<>(page)));
+    }
+
+    @GetMapping("/statistic")
+    public Mono<ParcelStatistic> findAll(ParcelSearchParams params) {
+        return parcelService.buildStatistic(params);
+    }
+
+    @PostMapping
+    public Mono<Parcel> create(@RequestBody CreateParcelRequest request) {
+        return parcelService.create(request);
+    }
+
+    @PostMapping("/batch")
+    public Mono<List<Parcel>> createAll(@RequestBody List<CreateParcelRequest> requests) {
+        return parcelService.createAll(requests);
+    }
+
+    @PatchMapping("/batch")
+    public Mono<List<BulkUpdateParcelStatusResult>> updateStatuses(@RequestBody BulkUpdateParcelStatusRequest request) {
+        return parcelService.updateStatuses(request);
+    }
+
+    @PatchMapping("/{trackingNumber}")
+    public Mono<Parcel> updateStatus(@PathVariable("trackingNumber") String trackingNumber,
+                                     @RequestBody UpdateParcelStatusRequest request) {
+        return parcelService.updateStatus(trackingNumber, request.getStatus(), request.getVersion());
+    }
+}
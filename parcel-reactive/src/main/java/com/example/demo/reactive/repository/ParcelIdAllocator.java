@@ -0,0 +1,88 @@
+package com.example.demo.reactive.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+/**
+ * Parcel ids from {@code parcel_id_seq} in the blocks Hibernate's pooled optimizer uses in the blocking application:
+ * a sequence value {@code hi} owns the ids {@code hi - 49 .. hi}, so both variants can insert into the same table.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParcelIdAllocator {
+
+    // Matches the allocationSize of the sequence generator on Parcel
+    static final int ALLOCATION_SIZE = 50;
+
+    private final DatabaseClient client;
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(1, 0));
+
+    public Mono<Long> next() {
+        return Mono.defer(() -> {
+            long id = current.get().take();
+            if (id > 0) {
+                return Mono.just(id);
+            }
+            // Concurrent callers may each fetch a block; the ids left in the replaced one are skipped
+            return nextValues(1).next().map(hi -> {
+                Block block = Block.of(hi);
+                current.set(block);
+                return block.take();
+            });
+        });
+    }
+
+    /**
+     * Ids for a batch, from blocks of its own.
+     */
+    public Flux<Long> next(int count) {
+        if (count == 0) {
+            return Flux.empty();
+        }
+        int blocks = (count + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+        // The very first sequence value owns a single id, so one more round can be needed
+        return Flux.defer(() -> nextValues(blocks))
+                .concatMapIterable(hi -> {
+                    Block block = Block.of(hi);
+                    return () -> LongStream.rangeClosed(block.first, block.last).iterator();
+                })
+                .repeat()
+                .take(count);
+    }
+
+    private Flux<Long> nextValues(int count) {
+        return client.sql("SELECT nextval('parcel_id_seq') FROM generate_series(1, $1)")
+                .bind(0, count)
+                .map(row -> row.get(0, Long.class))
+                .all();
+    }
+
+    private static final class Block {
+
+        private final long first;
+        private final long last;
+        private final AtomicLong next;
+
+        private Block(long first, long last) {
+            this.first = first;
+            this.last = last;
+            this.next = new AtomicLong(first);
+        }
+
+        static Block of(long hi) {
+            return new Block(Math.max(1, hi - ALLOCATION_SIZE + 1), hi);
+        }
+
+        long take() {
+            long id = next.getAndIncrement();
+            return id <= last ? id : -1;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.demo.reactive.repository;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.repository.ParcelSqlFilter;
+import com.example.demo.repository.ParcelStatusUpdate;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Native SQL over the {@code parcel} table for the reactive variant. Filters come from {@link ParcelSqlFilter},
+ * the statements mirror {@code ParcelRepository} and {@code ParcelBatchRepositoryImpl}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveParcelRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO parcel (id, tracking_number, sender, recipient, weight, price, status, delivery_type, version)
+            SELECT u.*, 0
+            FROM unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::varchar[], ?::float8[], ?::float8[],
+                        ?::varchar[], ?::varchar[]) AS u
+            """;
+
+    private static final String UPDATE_STATUS_SQL = """
+            UPDATE parcel
+            SET status = ?, version = version + 1
+            WHERE tracking_number = ?
+              AND (?::bigint IS NULL OR version = ?)
+            RETURNING *
+            """;
+
+    // Rows are locked in tracking number order, so concurrent batches that overlap wait instead of deadlocking
+    private static final String UPDATE_STATUSES_SQL = """
+            WITH locked AS (
+                SELECT p.id, u.status
+                FROM parcel p
+                JOIN unnest(?::varchar[], ?::varchar[], ?::bigint[]) AS u(tracking_number, status, expected_version)
+                  ON p.tracking_number = u.tracking_number
+                WHERE u.expected_version IS NULL OR p.version = u.expected_version
+                ORDER BY p.tracking_number COLLATE "C"
+                FOR UPDATE OF p
+            )
+            UPDATE parcel p
+            SET status = l.status, version = p.version + 1
+            FROM locked l
+            WHERE p.id = l.id
+            RETURNING p.tracking_number, p.version
+            """;
+
+    private static final String FIND_EXISTING_SQL = """
+            SELECT tracking_number FROM parcel WHERE tracking_number = ANY (?::varchar[])
+            """;
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            Parcel.Fields.id, "id",
+            Parcel.Fields.trackingNumber, "tracking_number",
+            Parcel.Fields.sender, "sender",
+            Parcel.Fields.recipient, "recipient",
+            Parcel.Fields.weight, "weight",
+            Parcel.Fields.price, "price",
+            Parcel.Fields.status, "status",
+            Parcel.Fields.deliveryType, "delivery_type",
+            Parcel.Fields.version, "version");
+
+    private static final String STATISTIC_COLUMNS = "count(*), coalesce(avg(weight), 0), coalesce(avg(price), 0), "
+            + countsBy("status", ParcelStatus.values()) + ", " + countsBy("delivery_type", DeliveryType.values());
+
+    private final DatabaseClient client;
+
+    public Mono<Parcel> findByTrackingNumber(String trackingNumber) {
+        return query("SELECT * FROM parcel WHERE tracking_number = ?", List.of(trackingNumber))
+                .map(ReactiveParcelRepository::toParcel)
+                .one();
+    }
+
+    public Mono<Boolean> existsByTrackingNumber(String trackingNumber) {
+        return query("SELECT EXISTS (SELECT 1 FROM parcel WHERE tracking_number = ?)", List.of(trackingNumber))
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Mono<Set<String>> findExistingTrackingNumbers(Collection<String> trackingNumbers) {
+        if (trackingNumbers.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+        return query(FIND_EXISTING_SQL, List.of((Object) trackingNumbers.toArray(String[]::new)))
+                .map(row -> row.get(0, String.class))
+                .all()
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    public Mono<Page<ParcelView>> findAllViews(ParcelSearchParams params, Pageable pageable) {
+        ParcelSqlFilter filter = ParcelSqlFilter.of(params);
+        StringBuilder sql = new StringBuilder("SELECT * FROM parcel WHERE ").append(filter.where());
+        appendOrderBy(sql, pageable.getSort());
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT ").append(pageable.getPageSize()).append(" OFFSET ").append(pageable.getOffset());
+        }
+        return query(sql.toString(), filter.parameters())
+                .map(ReactiveParcelRepository::toView)
+                .all()
+                .collectList()
+                .flatMap(content -> total(filter, pageable, content)
+                        .map(total -> (Page<ParcelView>) new PageImpl<>(content, pageable, total)));
+    }
+
+    public Mono<ParcelStatistic> statistic(ParcelSearchParams params) {
+        ParcelSqlFilter filter = ParcelSqlFilter.of(params);
+        Mono<ParcelStatistic> totals = query("SELECT " + STATISTIC_COLUMNS + " FROM parcel WHERE " + filter.where(),
+                filter.parameters())
+                .map(ReactiveParcelRepository::toStatistic)
+                .one();
+        return totals.flatMap(statistic -> statistic.getTotalParcels() == 0
+                ? Mono.just(statistic)
+                : Mono.zip(extreme(filter, "price DESC"), extreme(filter, "price"),
+                                extreme(filter, "weight DESC"), extreme(filter, "weight"))
+                        .map(extremes -> {
+                            statistic.setMostExpensiveParcel(extremes.getT1().orElse(null));
+                            statistic.setCheapestParcel(extremes.getT2().orElse(null));
+                            statistic.setHeaviestParcel(extremes.getT3().orElse(null));
+                            statistic.setLightestParcel(extremes.getT4().orElse(null));
+                            return statistic;
+                        }));
+    }
+
+    /**
+     * Inserts new parcels with ids already assigned, in one statement.
+     */
+    public Mono<Void> insertAll(List<Parcel> parcels) {
+        if (parcels.isEmpty()) {
+            return Mono.empty();
+        }
+        int size = parcels.size();
+        Long[] ids = new Long[size];
+        String[] trackingNumbers = new String[size];
+        String[] senders = new String[size];
+        String[] recipients = new String[size];
+        Double[] weights = new Double[size];
+        Double[] prices = new Double[size];
+        String[] statuses = new String[size];
+        String[] deliveryTypes = new String[size];
+        for (int i = 0; i < size; i++) {
+            Parcel parcel = parcels.get(i);
+            ids[i] = parcel.getId();
+            trackingNumbers[i] = parcel.getTrackingNumber();
+            senders[i] = parcel.getSender();
+            recipients[i] = parcel.getRecipient();
+            weights[i] = parcel.getWeight();
+            prices[i] = parcel.getPrice();
+            statuses[i] = parcel.getStatus().name();
+            deliveryTypes[i] = parcel.getDeliveryType().name();
+        }
+        return query(INSERT_SQL, List.of(ids, trackingNumbers, senders, recipients, weights, prices, statuses,
+                deliveryTypes))
+                .then();
+    }
+
+    public Mono<Parcel> updateStatus(String trackingNumber, String status, Long expectedVersion) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql(toBindMarkers(UPDATE_STATUS_SQL))
+                .bind(0, status)
+                .bind(1, trackingNumber);
+        spec = expectedVersion == null
+                ? spec.bindNull(2, Long.class).bindNull(3, Long.class)
+                : spec.bind(2, expectedVersion).bind(3, expectedVersion);
+        return spec.map(ReactiveParcelRepository::toParcel).one();
+    }
+
+    /**
+     * Same contract as {@code ParcelBatchRepository#updateStatuses}: new versions of the updated parcels by
+     * tracking number.
+     */
+    public Mono<Map<String, Long>> updateStatuses(List<ParcelStatusUpdate> updates) {
+        if (updates.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        int size = updates.size();
+        String[] trackingNumbers = new String[size];
+        String[] statuses = new String[size];
+        Long[] expectedVersions = new Long[size];
+        for (int i = 0; i < size; i++) {
+            ParcelStatusUpdate update = updates.get(i);
+            trackingNumbers[i] = update.trackingNumber();
+            statuses[i] = update.status().name();
+            expectedVersions[i] = update.expectedVersion();
+        }
+        return query(UPDATE_STATUSES_SQL, List.of(trackingNumbers, statuses, expectedVersions))
+                .map(row -> Map.entry(row.get(0, String.class), row.get(1, Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Mono<Optional<Parcel>> extreme(ParcelSqlFilter filter, String order) {
+        // Ties go to the lowest id, same as the blocking statistic
+        return query("SELECT * FROM parcel WHERE " + filter.where() + " ORDER BY " + order + ", id LIMIT 1",
+                filter.parameters())
+                .map(ReactiveParcelRepository::toParcel)
+                .one()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    // The count query is skipped when the page itself tells the total, as PageableExecutionUtils does
+    private Mono<Long> total(ParcelSqlFilter filter, Pageable pageable, List<ParcelView> content) {
+        if (pageable.isUnpaged() || pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            return Mono.just((long) content.size());
+        }
+        if (!content.isEmpty() && content.size() < pageable.getPageSize()) {
+            return Mono.just(pageable.getOffset() + content.size());
+        }
+        return query("SELECT count(*) FROM parcel WHERE " + filter.where(), filter.parameters())
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private DatabaseClient.GenericExecuteSpec query(String sql, List<?> parameters) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql(toBindMarkers(sql));
+        for (int i = 0; i < parameters.size(); i++) {
+            spec = spec.bind(i, parameters.get(i));
+        }
+        return spec;
+    }
+
+    private static void appendOrderBy(StringBuilder sql, Sort sort) {
+        if (sort.isUnsorted()) {
+            return;
+        }
+        sql.append(" ORDER BY ");
+        String separator = "";
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new BadRequestException("Unknown sort property: " + order.getProperty());
+            }
+            sql.append(separator).append(column).append(order.isAscending() ? " ASC" : " DESC");
+            separator = ", ";
+        }
+    }
+
+    /**
+     * Numbers the JDBC-style {@code ?} placeholders of {@link ParcelSqlFilter} as PostgreSQL {@code $n} markers.
+     */
+    static String toBindMarkers(String sql) {
+        StringBuilder result = new StringBuilder(sql.length() + 16);
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                result.append('$').append(++index);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static String countsBy(String column, Enum<?>[] values) {
+        return Arrays.stream(values)
+                .map(value -> "count(*) FILTER (WHERE " + column + " = '" + value.name() + "')")
+                .collect(Collectors.joining(", "));
+    }
+
+    private static ParcelStatistic toStatistic(Readable row) {
+        int column = 3;
+        Map<ParcelStatus, Long> byStatus = new EnumMap<>(ParcelStatus.class);
+        for (ParcelStatus status : ParcelStatus.values()) {
+            byStatus.put(status, row.get(column++, Long.class));
+        }
+        Map<DeliveryType, Long> byDeliveryType = new EnumMap<>(DeliveryType.class);
+        for (DeliveryType deliveryType : DeliveryType.values()) {
+            byDeliveryType.put(deliveryType, row.get(column++, Long.class));
+        }
+        return ParcelStatistic.builder()
+                .totalParcels(row.get(0, Long.class))
+                .averageWeight(row.get(1, Double.class))
+                .averagePrice(row.get(2, Double.class))
+                .parcelsCountByStatus(byStatus)
+                .parcelsCountByDeliveryType(byDeliveryType)
+                .build();
+    }
+
+    static Parcel toParcel(Readable row) {
+        return Parcel.builder()
+                .id(row.get("id", Long.class))
+                .trackingNumber(row.get("tracking_number", String.class))
+                .sender(row.get("sender", String.class))
+                .recipient(row.get("recipient", String.class))
+                .weight(row.get("weight", Double.class))
+                .price(row.get("price", Double.class))
+                .status(ParcelStatus.valueOf(row.get("status", String.class)))
+                .deliveryType(DeliveryType.valueOf(row.get("delivery_type", String.class)))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    private static ParcelView toView(Readable row) {
+        return new ParcelView(row.get("id", Long.class),
+                row.get("tracking_number", String.class),
+                row.get("sender", String.class),
+                row.get("recipient", String.class),
+                row.get("weight", Double.class),
+                row.get("price", Double.class),
+                ParcelStatus.valueOf(row.get("status", String.class)),
+                DeliveryType.valueOf(row.get("delivery_type", String.class)),
+                row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.demo.reactive.service;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.dto.BulkUpdateParcelStatusRequest;
+import com.example.demo.dto.BulkUpdateParcelStatusResult;
+import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.ConflictException;
+import com.example.demo.exception.NotFoundException;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.reactive.repository.ParcelIdAllocator;
+import com.example.demo.reactive.repository.ReactiveParcelRepository;
+import com.example.demo.repository.ParcelStatusUpdate;
+import com.example.demo.service.parcel.price.PriceCalculatorRegistry;
+import com.example.demo.util.CommonGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of {@code ParcelServiceImpl} for the endpoints the reactive variant exposes, with the
+ * same validation and error messages. There is no tracking number cache, statistic cache or columnar index here:
+ * every call goes to the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveParcelService {
+
+    private final ReactiveParcelRepository parcelRepository;
+    private final ParcelIdAllocator idAllocator;
+    private final CommonGenerator generator;
+    private final PriceCalculatorRegistry priceCalculatorRegistry;
+    private final ParcelProperties properties;
+    private final TransactionalOperator transactionalOperator;
+
+    public Mono<Parcel> getByTrackingNumber(String trackingNumber) {
+        return parcelRepository.findByTrackingNumber(trackingNumber)
+                .switchIfEmpty(Mono.error(() -> notFound(trackingNumber)));
+    }
+
+    public Mono<Page<ParcelView>> findAllViews(ParcelSearchParams params, Pageable pageable) {
+        return parcelRepository.findAllViews(params, pageable);
+    }
+
+    public Mono<ParcelStatistic> buildStatistic(ParcelSearchParams params) {
+        return parcelRepository.statistic(params);
+    }
+
+    public Mono<Parcel> create(CreateParcelRequest request) {
+        return Mono.fromCallable(() -> buildParcel(request))
+                .zipWith(idAllocator.next(), (parcel, id) -> {
+                    parcel.setId(id);
+                    return parcel;
+                })
+                .flatMap(parcel -> parcelRepository.insertAll(List.of(parcel)).thenReturn(parcel));
+    }
+
+    public Mono<List<Parcel>> createAll(List<CreateParcelRequest> requests) {
+        int maxSize = properties.getBatch().getMaxSize();
+        if (requests.size() > maxSize) {
+            return Mono.error(new BadRequestException("Batch size must not exceed " + maxSize));
+        }
+        return Mono.fromCallable(() -> {
+                    List<Parcel> parcels = new ArrayList<>(requests.size());
+                    for (CreateParcelRequest request : requests) {
+                        parcels.add(buildParcel(request));
+                    }
+                    return parcels;
+                })
+                .flatMap(parcels -> idAllocator.next(parcels.size())
+                        .index()
+                        .doOnNext(id -> parcels.get(id.getT1().intValue()).setId(id.getT2()))
+                        .then(Mono.defer(() -> parcelRepository.insertAll(parcels)))
+                        .thenReturn(parcels));
+    }
+
+    private Parcel buildParcel(CreateParcelRequest request) {
+        Parcel parcel = new Parcel();
+        parcel.setTrackingNumber(generator.uuid());
+        parcel.setSender(request.getSender());
+        parcel.setRecipient(request.getRecipient());
+        parcel.setWeight(request.getWeight());
+        parcel.setStatus(ParcelStatus.CREATED);
+        parcel.setDeliveryType(request.getDeliveryType());
+        parcel.setPrice(priceCalculatorRegistry.calculatePrice(request));
+        return parcel;
+    }
+
+    public Mono<Parcel> updateStatus(String trackingNumber, ParcelStatus status, Long expectedVersion) {
+        return parcelRepository.updateStatus(trackingNumber, status.name(), expectedVersion)
+                // The extra lookup only happens on the failure path, to tell a stale version from a missing parcel
+                .switchIfEmpty(Mono.defer(() -> expectedVersion == null
+                        ? Mono.just(false)
+                        : parcelRepository.existsByTrackingNumber(trackingNumber))
+                        .flatMap(exists -> Mono.<Parcel>error(exists
+                                ? new ConflictException("Parcel with tracking number " + trackingNumber
+                                + " was modified concurrently, expected version " + expectedVersion)
+                                : notFound(trackingNumber))));
+    }
+
+    public Mono<List<BulkUpdateParcelStatusResult>> updateStatuses(BulkUpdateParcelStatusRequest request) {
+        int chunkSize = properties.getBatch().getStatusChunkSize();
+        return Mono.fromCallable(() -> toStatusUpdates(request))
+                .flatMap(updates -> {
+                    // Chunks are applied in tracking number order, the same order the rows are locked in
+                    List<ParcelStatusUpdate> ordered = updates.stream()
+                            .sorted(Comparator.comparing(ParcelStatusUpdate::trackingNumber))
+                            .toList();
+                    return Flux.range(0, (ordered.size() + chunkSize - 1) / chunkSize)
+                            .map(chunk -> ordered.subList(chunk * chunkSize,
+                                    Math.min((chunk + 1) * chunkSize, ordered.size())))
+                            .concatMap(this::updateChunk)
+                            .concatMapIterable(results -> results)
+                            .collectMap(BulkUpdateParcelStatusResult::getTrackingNumber)
+                            .map(results -> updates.stream()
+                                    .map(update -> results.get(update.trackingNumber()))
+                                    .toList())
+                            .as(transactionalOperator::transactional);
+                });
+    }
+
+    private Mono<List<BulkUpdateParcelStatusResult>> updateChunk(List<ParcelStatusUpdate> chunk) {
+        return parcelRepository.updateStatuses(chunk).flatMap(updated -> {
+            List<String> missed = chunk.stream()
+                    .map(ParcelStatusUpdate::trackingNumber)
+                    .filter(trackingNumber -> !updated.containsKey(trackingNumber))
+                    .toList();
+            return parcelRepository.findExistingTrackingNumbers(missed).map(existing -> {
+                List<BulkUpdateParcelStatusResult> results = new ArrayList<>(chunk.size());
+                for (ParcelStatusUpdate update : chunk) {
+                    String trackingNumber = update.trackingNumber();
+                    Long version = updated.get(trackingNumber);
+                    BulkUpdateParcelStatusResult.Outcome outcome;
+                    if (version != null) {
+                        outcome = BulkUpdateParcelStatusResult.Outcome.UPDATED;
+                    } else if (existing.contains(trackingNumber)) {
+                        outcome = BulkUpdateParcelStatusResult.Outcome.CONFLICT;
+                    } else {
+                        outcome = BulkUpdateParcelStatusResult.Outcome.NOT_FOUND;
+                    }
+                    results.add(new BulkUpdateParcelStatusResult(trackingNumber, outcome, version));
+                }
+                return results;
+            });
+        });
+    }
+
+    private List<ParcelStatusUpdate> toStatusUpdates(BulkUpdateParcelStatusRequest request) {
+        List<BulkUpdateParcelStatusRequest.Item> items = request.getItems() == null ? List.of() : request.getItems();
+        int maxSize = properties.getBatch().getMaxSize();
+        if (items.size() > maxSize) {
+            throw new BadRequestException("Batch size must not exceed " + maxSize);
+        }
+        Set<String> trackingNumbers = new HashSet<>();
+        List<ParcelStatusUpdate> updates = new ArrayList<>(items.size());
+        for (BulkUpdateParcelStatusRequest.Item item : items) {
+            if (item.getTrackingNumber() == null || !trackingNumbers.add(item.getTrackingNumber())) {
+                throw new BadRequestException("Tracking numbers must be present and unique, got " + item.getTrackingNumber());
+            }
+            ParcelStatus status = item.getStatus() != null ? item.getStatus() : request.getStatus();
+            if (status == null) {
+                throw new BadRequestException("Status is missing for parcel " + item.getTrackingNumber());
+            }
+            updates.add(new ParcelStatusUpdate(item.getTrackingNumber(), status, item.getVersion()));
+        }
+        return updates;
+    }
+
+    private static NotFoundException notFound(String trackingNumber) {
+        return new NotFoundException("Parcel with tracking number " + trackingNumber + " not found");
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.demo.reactive.service;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.dto.BulkUpdateParcelStatusRequest;
+import com.example.demo.dto.BulkUpdateParcelStatusResult;
+import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.ConflictException;
+import com.example.demo.exception.NotFoundException;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.reactive.repository.ParcelIdAllocator;
+import com.example.demo.reactive.repository.ReactiveParcelRepository;
+import com.example.demo.repository.ParcelStatusUpdate;
+import com.example.demo.service.parcel.price.PriceCalculatorRegistry;
+import com.example.demo.util.CommonGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveParcelServiceTest {
+
+    private final ReactiveParcelRepository parcelRepository = mock(ReactiveParcelRepository.class);
+    private final ParcelIdAllocator idAllocator = mock(ParcelIdAllocator.class);
+    private final CommonGenerator generator = mock(CommonGenerator.class);
+    private final PriceCalculatorRegistry priceCalculatorRegistry = mock(PriceCalculatorRegistry.class);
+    private final TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+    private final ParcelProperties properties = new ParcelProperties();
+    private ReactiveParcelService parcelService;
+
+    @BeforeEach
+    void setUp() {
+        properties.getBatch().setMaxSize(3);
+        properties.getBatch().setStatusChunkSize(2);
+        when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Object>>any())).thenAnswer(invocation -> invocation.getArgument(0));
+        parcelService = new ReactiveParcelService(parcelRepository, idAllocator, generator, priceCalculatorRegistry,
+                properties, transactionalOperator);
+    }
+
+    @Test
+    void givenRequests_createAll_shouldAssignIdsBeforeInsert() {
+        when(generator.uuid()).thenReturn("TN1", "TN2");
+        when(priceCalculatorRegistry.calculatePrice(any())).thenReturn(400.0);
+        when(idAllocator.next(anyInt())).thenReturn(Flux.just(51L, 52L));
+        when(parcelRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Parcel> parcels = invocation.getArgument(0);
+            assertThat(parcels).extracting(Parcel::getId).containsExactly(51L, 52L);
+            return Mono.empty();
+        });
+
+        StepVerifier.create(parcelService.createAll(List.of(request(), request())))
+                .assertNext(parcels -> assertThat(parcels)
+                        .extracting(Parcel::getTrackingNumber, Parcel::getStatus, Parcel::getPrice)
+                        .containsExactly(
+                                tuple("TN1", ParcelStatus.CREATED, 400.0),
+                                tuple("TN2", ParcelStatus.CREATED, 400.0)))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenTooManyRequests_createAll_shouldFailWithoutTouchingDatabase() {
+        StepVerifier.create(parcelService.createAll(List.of(request(), request(), request(), request())))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(BadRequestException.class)
+                        .hasMessage("Batch size must not exceed 3"))
+                .verify();
+        verify(idAllocator, never()).next(anyInt());
+    }
+
+    @Test
+    void givenStaleVersion_updateStatus_shouldFailWithConflict() {
+        when(parcelRepository.updateStatus("TN", "DELIVERED", 1L)).thenReturn(Mono.empty());
+        when(parcelRepository.existsByTrackingNumber("TN")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(parcelService.updateStatus("TN", ParcelStatus.DELIVERED, 1L))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(ConflictException.class)
+                        .hasMessage("Parcel with tracking number TN was modified concurrently, expected version 1"))
+                .verify();
+    }
+
+    @Test
+    void givenMissingParcel_updateStatus_shouldFailWithNotFoundWithoutLookup() {
+        when(parcelRepository.updateStatus("TN", "DELIVERED", null)).thenReturn(Mono.empty());
+
+        StepVerifier.create(parcelService.updateStatus("TN", ParcelStatus.DELIVERED, null))
+                .expectError(NotFoundException.class)
+                .verify();
+        verify(parcelRepository, never()).existsByTrackingNumber(any());
+    }
+
+    @Test
+    void givenMixedItems_updateStatuses_shouldReportOutcomePerChunk() {
+        when(parcelRepository.updateStatuses(eq(List.of(
+                new ParcelStatusUpdate("TN1", ParcelStatus.DELIVERED, null),
+                new ParcelStatusUpdate("TN2", ParcelStatus.IN_TRANSIT, 3L)))))
+                .thenReturn(Mono.just(Map.of("TN1", 1L)));
+        when(parcelRepository.updateStatuses(eq(List.of(
+                new ParcelStatusUpdate("TN3", ParcelStatus.DELIVERED, null)))))
+                .thenReturn(Mono.just(Map.of()));
+        when(parcelRepository.findExistingTrackingNumbers(List.of("TN2"))).thenReturn(Mono.just(Set.of("TN2")));
+        when(parcelRepository.findExistingTrackingNumbers(List.of("TN3"))).thenReturn(Mono.just(Set.of()));
+
+        BulkUpdateParcelStatusRequest request = BulkUpdateParcelStatusRequest.builder()
+                .status(ParcelStatus.DELIVERED)
+                .items(List.of(
+                        BulkUpdateParcelStatusRequest.Item.builder().trackingNumber("TN1").build(),
+                        BulkUpdateParcelStatusRequest.Item.builder()
+                                .trackingNumber("TN2").status(ParcelStatus.IN_TRANSIT).version(3L).build(),
+                        BulkUpdateParcelStatusRequest.Item.builder().trackingNumber("TN3").build()))
+                .build();
+
+        StepVerifier.create(parcelService.updateStatuses(request))
+                .assertNext(results -> assertThat(results).containsExactly(
+                        new BulkUpdateParcelStatusResult("TN1", BulkUpdateParcelStatusResult.Outcome.UPDATED, 1L),
+                        new BulkUpdateParcelStatusResult("TN2", BulkUpdateParcelStatusResult.Outcome.CONFLICT, null),
+                        new BulkUpdateParcelStatusResult("TN3", BulkUpdateParcelStatusResult.Outcome.NOT_FOUND, null)))
+                .verifyComplete();
+    }
+
+    private static CreateParcelRequest request() {
+        return CreateParcelRequest.builder()
+                .sender("Sender")
+                .recipient("Recipient")
+                .weight(2.5)
+                .deliveryType(DeliveryType.EXPRESS)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+final class BenchmarkParcels {
+
+    private static final String[] NAMES = {
+            "Antony Williams", "Emma Brown", "Lucas Johnson", "John Doe", "Olivia Davis", "James Taylor"
+    };
+
+    private BenchmarkParcels() {
+    }
+
+    static List<Parcel> parcels(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        ParcelStatus[] statuses = ParcelStatus.values();
+        DeliveryType[] deliveryTypes = DeliveryType.values();
+        List<Parcel> parcels = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            parcels.add(Parcel.builder()
+                    .id((long) i + 1)
+                    .trackingNumber(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .sender(NAMES[random.nextInt(NAMES.length)])
+                    .recipient(NAMES[random.nextInt(NAMES.length)])
+                    .weight(random.nextDouble(0.1, 100))
+                    .price(random.nextDouble(200, 700))
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .deliveryType(deliveryTypes[random.nextInt(deliveryTypes.length)])
+                    .build());
+        }
+        return parcels;
+    }
+
+    static List<CreateParcelRequest> createRequests(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        DeliveryType[] deliveryTypes = DeliveryType.values();
+        List<CreateParcelRequest> requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            requests.add(CreateParcelRequest.builder()
+                    .sender(NAMES[random.nextInt(NAMES.length)])
+                    .recipient(NAMES[random.nextInt(NAMES.length)])
+                    .weight(random.nextDouble(0.1, 100))
+                    .deliveryType(deliveryTypes[random.nextInt(deliveryTypes.length)])
+                    .build());
+        }
+        return requests;
+    }
+
+    static String jdbcUrl() {
+        return System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/parcel");
+    }
+
+    static String jdbcUser() {
+        return System.getProperty("benchmark.jdbc.user", "postgres");
+    }
+
+    static String jdbcPassword() {
+        return System.getProperty("benchmark.jdbc.password", "postgres");
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.service.parcel.columnar.ParcelColumnStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the in-memory column store. Compare with {@link ParcelSearchBenchmark} and
+ * {@link PartitionedStatisticBenchmark} for the database path.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ColumnStoreBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColumnStoreBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private ParcelColumnStore store;
+    private ParcelSearchParams rangeAndStatus;
+    private ParcelSearchParams text;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        List<Parcel> parcels = BenchmarkParcels.parcels(rows);
+        store = new ParcelColumnStore(65_536);
+        parcels.forEach(store::upsert);
+        store.reindex();
+        rangeAndStatus = ParcelSearchParams.builder()
+                .fromWeight(10.0)
+                .toWeight(12.0)
+                .statuses(List.of(ParcelStatus.IN_TRANSIT))
+                .deliveryTypes(List.of(DeliveryType.EXPRESS))
+                .build();
+        text = ParcelSearchParams.builder().sender("anto").build();
+        pageable = PageRequest.of(0, 20, Sort.by(Sort.Order.desc(Parcel.Fields.price)));
+    }
+
+    @Benchmark
+    public ParcelStatistic statisticAll() {
+        return store.statistic(ParcelSearchParams.builder().build());
+    }
+
+    @Benchmark
+    public ParcelStatistic statisticRangeAndStatus() {
+        return store.statistic(rangeAndStatus);
+    }
+
+    @Benchmark
+    public Page<ParcelView> pageRangeAndStatus() {
+        return store.findAllViews(rangeAndStatus, pageable);
+    }
+
+    @Benchmark
+    public Page<ParcelView> pageText() {
+        return store.findAllViews(text, pageable);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.util.CommonGenerator;
+import com.example.demo.util.UuidStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommonGeneratorBenchmark {
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private UuidStrategy strategy;
+
+    private CommonGenerator generator;
+
+    @Setup
+    public void setUp() {
+        ParcelProperties properties = new ParcelProperties();
+        properties.getTrackingNumber().setStrategy(strategy);
+        generator = new CommonGenerator(properties);
+    }
+
+    @Benchmark
+    public String uuid() {
+        return generator.uuid();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidContended() {
+        return generator.uuid();
+    }
+}
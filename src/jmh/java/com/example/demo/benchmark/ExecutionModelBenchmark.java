@@ -0,0 +1,102 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.Parcel;
+import com.example.demo.repository.ParcelRepository;
+import com.example.demo.service.ParcelService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of cheap tracking lookups while many slow, uncacheable statistic requests run at the same time, with
+ * Tomcat's platform-thread pool against the {@code virtual-threads} profile. Boots the application on a random
+ * port against the docker-compose database and seeds it up to {@link #PARCELS} rows.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ExecutionModelBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExecutionModelBenchmark {
+
+    private static final int PARCELS = 100_000;
+    private static final int LOOKUP_KEYS = 1_000;
+
+    @Param({"platform", "virtual-threads"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUri;
+    private List<String> trackingNumbers;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles(mode.equals("platform") ? new String[0] : new String[]{mode})
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + BenchmarkParcels.jdbcUrl(),
+                        "--spring.datasource.username=" + BenchmarkParcels.jdbcUser(),
+                        "--spring.datasource.password=" + BenchmarkParcels.jdbcPassword());
+        ParcelRepository parcelRepository = context.getBean(ParcelRepository.class);
+        ParcelService parcelService = context.getBean(ParcelService.class);
+        for (long count = parcelRepository.count(); count < PARCELS; count += 10_000) {
+            parcelService.createAll(BenchmarkParcels.createRequests(10_000));
+        }
+        trackingNumbers = parcelRepository.findAll(PageRequest.of(0, LOOKUP_KEYS)).stream()
+                .map(Parcel::getTrackingNumber)
+                .toList();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/parcels/";
+        for (String trackingNumber : trackingNumbers) {
+            get(baseUri + trackingNumber);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Enough concurrent statistic calls to keep every one of Tomcat's 200 platform threads busy
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(256)
+    public int statistic() throws Exception {
+        // A random lower weight bound misses the statistic cache, so every call scans
+        return get(baseUri + "statistic?sender=o&fromWeight=" + ThreadLocalRandom.current().nextDouble(0.1, 1));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(8)
+    public int lookup() throws Exception {
+        return get(baseUri + trackingNumbers.get(ThreadLocalRandom.current().nextInt(trackingNumbers.size())));
+    }
+
+    private int get(String uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.model.Parcel;
+import com.example.demo.service.ParcelService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent single-parcel creates with and without group commit.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=GroupCommitBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class GroupCommitBenchmark {
+
+    @Param({"false", "true"})
+    private boolean groupCommit;
+
+    private ConfigurableApplicationContext context;
+    private ParcelService parcelService;
+    private CreateParcelRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + BenchmarkParcels.jdbcUrl(),
+                        "--spring.datasource.username=" + BenchmarkParcels.jdbcUser(),
+                        "--spring.datasource.password=" + BenchmarkParcels.jdbcPassword(),
+                        "--spring.datasource.hikari.maximum-pool-size=32",
+                        "--parcel.group-commit.enabled=" + groupCommit);
+        parcelService = context.getBean(ParcelService.class);
+        request = BenchmarkParcels.createRequests(1).get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Parcel create() {
+        return parcelService.create(request);
+    }
+}
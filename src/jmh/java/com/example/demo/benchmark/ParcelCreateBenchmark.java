@@ -0,0 +1,69 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.model.Parcel;
+import com.example.demo.service.ParcelService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second of {@link ParcelService#create} called in a loop against {@link ParcelService#createAll}.
+ * Boots the application against the docker-compose database and keeps adding rows to it.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ParcelCreateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParcelCreateBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private ParcelService parcelService;
+    private List<CreateParcelRequest> requests;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + BenchmarkParcels.jdbcUrl(),
+                        "--spring.datasource.username=" + BenchmarkParcels.jdbcUser(),
+                        "--spring.datasource.password=" + BenchmarkParcels.jdbcPassword());
+        parcelService = context.getBean(ParcelService.class);
+        requests = BenchmarkParcels.createRequests(ROWS_PER_INVOCATION);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public void createInLoop(Blackhole blackhole) {
+        for (CreateParcelRequest request : requests) {
+            blackhole.consume(parcelService.create(request));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public List<Parcel> createAll() {
+        return parcelService.createAll(requests);
+    }
+}
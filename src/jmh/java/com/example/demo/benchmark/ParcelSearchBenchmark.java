@@ -0,0 +1,78 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.model.Parcel;
+import com.example.demo.repository.ParcelRepository;
+import com.example.demo.service.ParcelService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-based search against the projection path. Sample mode reports p99 latency; run with
+ * {@code -prof gc} to compare allocation per request.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ParcelSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParcelSearchBenchmark {
+
+    private static final int MIN_ROWS = 100_000;
+
+    @Param({"20", "500"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ParcelService parcelService;
+    private ParcelSearchParams params;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + BenchmarkParcels.jdbcUrl(),
+                        "--spring.datasource.username=" + BenchmarkParcels.jdbcUser(),
+                        "--spring.datasource.password=" + BenchmarkParcels.jdbcPassword());
+        parcelService = context.getBean(ParcelService.class);
+        long existing = context.getBean(ParcelRepository.class).count();
+        for (long i = existing; i < MIN_ROWS; i += 10_000) {
+            parcelService.createAll(BenchmarkParcels.createRequests(10_000));
+        }
+        params = ParcelSearchParams.builder().fromWeight(10.0).build();
+        pageable = PageRequest.of(10, pageSize, Sort.by(Parcel.Fields.id));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Parcel> findAllEntities() {
+        return parcelService.findAll(params, pageable);
+    }
+
+    @Benchmark
+    public Page<ParcelView> findAllViews() {
+        return parcelService.findAllViews(params, pageable);
+    }
+}
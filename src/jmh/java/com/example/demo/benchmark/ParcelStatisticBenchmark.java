@@ -0,0 +1,48 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.model.Parcel;
+import com.example.demo.service.parcel.statistic.ParcelStatisticAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParcelStatisticBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Parcel> parcels;
+
+    @Setup
+    public void setUp() {
+        parcels = BenchmarkParcels.parcels(size);
+    }
+
+    @Benchmark
+    public ParcelStatistic accumulate() {
+        ParcelStatisticAccumulator accumulator = new ParcelStatisticAccumulator();
+        for (Parcel parcel : parcels) {
+            accumulator.add(parcel);
+        }
+        return accumulator.toStatistic();
+    }
+
+    @Benchmark
+    public ParcelStatistic accumulateParallel() {
+        return parcels.parallelStream()
+                .collect(ParcelStatisticAccumulator::new, ParcelStatisticAccumulator::add, ParcelStatisticAccumulator::merge)
+                .toStatistic();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.repository.ParcelRepository;
+import com.example.demo.service.ParcelService;
+import com.example.demo.service.parcel.statistic.PartitionedParcelStatisticCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-table statistic by partition count. Partitions bypass the statistic cache; parallelism is raised to the
+ * largest partition count so every partition gets its own connection.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=PartitionedStatisticBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PartitionedStatisticBenchmark {
+
+    private static final int MIN_ROWS = 1_000_000;
+
+    @Param({"1", "2", "4", "8"})
+    private int partitions;
+
+    private ConfigurableApplicationContext context;
+    private PartitionedParcelStatisticCalculator calculator;
+    private ParcelSearchParams params;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + BenchmarkParcels.jdbcUrl(),
+                        "--spring.datasource.username=" + BenchmarkParcels.jdbcUser(),
+                        "--spring.datasource.password=" + BenchmarkParcels.jdbcPassword(),
+                        "--spring.datasource.hikari.maximum-pool-size=10",
+                        "--parcel.statistic.partitioned.parallelism=8");
+        ParcelService parcelService = context.getBean(ParcelService.class);
+        long existing = context.getBean(ParcelRepository.class).count();
+        for (long i = existing; i < MIN_ROWS; i += 10_000) {
+            parcelService.createAll(BenchmarkParcels.createRequests(10_000));
+        }
+        calculator = context.getBean(PartitionedParcelStatisticCalculator.class);
+        params = ParcelSearchParams.builder().fromWeight(1.0).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ParcelStatistic calculate() {
+        return calculator.calculate(params, partitions);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.service.parcel.price.DefaultDeliveryPriceCalculator;
+import com.example.demo.service.parcel.price.EconomDeliveryPriceCalculator;
+import com.example.demo.service.parcel.price.ExpressDeliveryPriceCalculator;
+import com.example.demo.service.parcel.price.PriceCalculatorRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PriceCalculatorBenchmark {
+
+    private static final int REQUESTS = 1024;
+
+    private PriceCalculatorRegistry registry;
+    private List<CreateParcelRequest> requests;
+
+    @Setup
+    public void setUp() {
+        registry = new PriceCalculatorRegistry(List.of(
+                new DefaultDeliveryPriceCalculator(),
+                new ExpressDeliveryPriceCalculator(),
+                new EconomDeliveryPriceCalculator()));
+        requests = BenchmarkParcels.createRequests(REQUESTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void calculatePrice(Blackhole blackhole) {
+        for (CreateParcelRequest request : requests) {
+            blackhole.consume(registry.calculatePrice(request));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same HTTP calls against the blocking application and the {@code parcel-reactive} module, both started
+ * separately against the same database: {@code ./gradlew bootRun} (port 8080) and
+ * {@code ./gradlew :parcel-reactive:bootRun} (port 8081). Use {@code -t} to compare them under concurrency.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ReactiveVariantBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReactiveVariantBenchmark {
+
+    private static final int LOOKUP_KEYS = 1_000;
+    private static final String CREATE_BODY = """
+            {"sender":"Emma Brown","recipient":"John Doe","weight":2.5,"deliveryType":"EXPRESS"}""";
+
+    @Param({"blocking", "reactive"})
+    private String variant;
+
+    private HttpClient client;
+    private String baseUri;
+    private List<String> trackingNumbers;
+
+    @Setup
+    public void setUp() throws Exception {
+        baseUri = (variant.equals("blocking")
+                ? System.getProperty("benchmark.blocking.url", "http://localhost:8080")
+                : System.getProperty("benchmark.reactive.url", "http://localhost:8081")) + "/parcels";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "?size=" + LOOKUP_KEYS)).GET().build();
+        JsonNode page = new ObjectMapper().readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        trackingNumbers = new ArrayList<>();
+        page.path("content").forEach(parcel -> trackingNumbers.add(parcel.path("trackingNumber").asText()));
+        if (trackingNumbers.isEmpty()) {
+            throw new IllegalStateException("No parcels at " + baseUri + ", seed the database first");
+        }
+    }
+
+    @Benchmark
+    public int lookup() throws Exception {
+        return get("/" + trackingNumbers.get(ThreadLocalRandom.current().nextInt(trackingNumbers.size())));
+    }
+
+    @Benchmark
+    public int search() throws Exception {
+        return get("?sender=o&fromWeight=10&sort=price,desc&size=20");
+    }
+
+    @Benchmark
+    public int statistic() throws Exception {
+        // A random lower weight bound misses the blocking application's statistic cache
+        return get("/statistic?sender=o&fromWeight=" + ThreadLocalRandom.current().nextDouble(0.1, 1));
+    }
+
+    @Benchmark
+    public int create() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(CREATE_BODY))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
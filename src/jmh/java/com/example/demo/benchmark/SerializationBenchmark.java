@@ -0,0 +1,83 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.model.Parcel;
+import com.example.demo.serialization.ParcelBinaryModule;
+import com.example.demo.service.parcel.statistic.ParcelStatisticAccumulator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reflection-based JSON of the raw page against the page envelope as JSON and as CBOR with the hand-written
+ * serializers.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=SerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private Page<Parcel> page;
+    private PagedModel<Parcel> envelope;
+    private ParcelStatistic statistic;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()
+                .registerModule(new ParcelBinaryModule());
+        List<Parcel> parcels = BenchmarkParcels.parcels(pageSize);
+        page = new PageImpl<>(parcels, PageRequest.of(3, pageSize), 1_000_000);
+        envelope = new PagedModel<>(page);
+        ParcelStatisticAccumulator accumulator = new ParcelStatisticAccumulator();
+        parcels.forEach(accumulator::add);
+        statistic = accumulator.toStatistic();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializePageEnvelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(envelope);
+    }
+
+    @Benchmark
+    public byte[] serializePageEnvelopeCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(envelope);
+    }
+
+    @Benchmark
+    public byte[] serializeStatistic() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(statistic);
+    }
+
+    @Benchmark
+    public byte[] serializeStatisticCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(statistic);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.repository.ParcelSpecifications;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SpecificationBenchmark {
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private ParcelSearchParams params;
+
+    @Setup
+    public void setUp() {
+        // Metadata access is disabled so Hibernate boots without a database
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Parcel.class)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        params = ParcelSearchParams.builder()
+                .sender("Antony")
+                .recipient("John")
+                .fromWeight(10.0)
+                .toWeight(50.0)
+                .fromPrice(100.0)
+                .statuses(List.of(ParcelStatus.CREATED, ParcelStatus.IN_TRANSIT))
+                .deliveryTypes(List.of(DeliveryType.EXPRESS))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Specification<Parcel> buildSpecification() {
+        return ParcelSpecifications.bySearchParams(params);
+    }
+
+    @Benchmark
+    public Object buildPredicate() {
+        CriteriaQuery<Parcel> query = criteriaBuilder.createQuery(Parcel.class);
+        Root<Parcel> root = query.from(Parcel.class);
+        return ParcelSpecifications.bySearchParams(params).toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.util.UuidStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput into a table with a unique tracking number index, per generator strategy.
+ * Needs the docker-compose database. The row count and tracking number index size at the end of each iteration
+ * are reported as secondary results next to the throughput.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=TrackingNumberIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TrackingNumberIndexBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 1_000;
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private UuidStrategy strategy;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private String table;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                BenchmarkParcels.jdbcUrl(), BenchmarkParcels.jdbcUser(), BenchmarkParcels.jdbcPassword());
+        table = "benchmark_tracking_number_" + strategy.name().toLowerCase();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table
+                    + " (id bigserial PRIMARY KEY, tracking_number varchar(255) NOT NULL UNIQUE)");
+        }
+        insert = connection.prepareStatement("INSERT INTO " + table + " (tracking_number) VALUES (?)");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + table);
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public int[] insert(IndexSize indexSize) throws SQLException {
+        for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+            insert.setString(1, strategy.next().toString());
+            insert.addBatch();
+        }
+        return insert.executeBatch();
+    }
+
+    /**
+     * Size of the table and its tracking number index, read once the iteration is over.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class IndexSize {
+
+        public long rows;
+        public long indexBytes;
+        public double indexBytesPerRow;
+
+        @TearDown(Level.Iteration)
+        public void measure(TrackingNumberIndexBenchmark benchmark) throws SQLException {
+            try (Statement statement = benchmark.connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT count(*), pg_relation_size('"
+                         + benchmark.table + "_tracking_number_key') FROM " + benchmark.table)) {
+                resultSet.next();
+                rows = resultSet.getLong(1);
+                indexBytes = resultSet.getLong(2);
+                indexBytesPerRow = rows == 0 ? 0 : (double) indexBytes / rows;
+            }
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.example.demo.common;
 
 import com.example.demo.service.ParcelServiceImpl;
-import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class ComponentForProduceCycleDependency {
     private final ParcelServiceImpl parcelService;
 
+    public ComponentForProduceCycleDependency(@Lazy ParcelServiceImpl parcelService) {
+        this.parcelService = parcelService;
+    }
+
     public void doNothing() {
         parcelService.methodForTrick();
     }
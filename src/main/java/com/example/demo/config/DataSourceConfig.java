@@ -0,0 +1,89 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class DataSourceConfig {
+
+    // Hikari reports -1 until the pool starts and only then applies its own default
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    // Bound straight from the environment: post-processors are created before configuration properties beans
+    @Bean
+    static BeanPostProcessor dataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                Binder binder = Binder.get(environment);
+                DataSource primary = limited(hikari, binder.bind("parcel.db-limiter", ParcelProperties.DbLimiter.class)
+                        .orElseGet(ParcelProperties.DbLimiter::new));
+                ParcelProperties.ReadReplicas replicas = binder
+                        .bind("parcel.read-replicas", ParcelProperties.ReadReplicas.class)
+                        .orElseGet(ParcelProperties.ReadReplicas::new);
+                if (!replicas.isEnabled() || replicas.getPools().isEmpty()) {
+                    return primary;
+                }
+                List<HikariDataSource> replicaPools = new ArrayList<>();
+                for (int i = 0; i < replicas.getPools().size(); i++) {
+                    replicaPools.add(replicaPool(hikari, replicas.getPools().get(i), i));
+                }
+                return new ReadWriteRoutingDataSource(hikari, primary, replicaPools);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitingDataSourceMetrics(DataSource dataSource) throws SQLException {
+        return dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class)
+                ? dataSource.unwrap(ConcurrencyLimitingDataSource.class)
+                : registry -> {
+                };
+    }
+
+    @Bean
+    public MeterBinder readWriteRoutingDataSourceMetrics(DataSource dataSource) {
+        return dataSource instanceof ReadWriteRoutingDataSource routing ? routing : registry -> {
+        };
+    }
+
+    private static DataSource limited(HikariDataSource hikari, ParcelProperties.DbLimiter limiter) {
+        if (!limiter.isEnabled()) {
+            return hikari;
+        }
+        int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+        int maxConcurrency = limiter.getMaxConcurrency() > 0 ? limiter.getMaxConcurrency() : poolSize;
+        Duration acquireTimeout = limiter.getAcquireTimeout() != null
+                ? limiter.getAcquireTimeout()
+                : Duration.ofMillis(hikari.getConnectionTimeout());
+        return new ConcurrencyLimitingDataSource(hikari, maxConcurrency, acquireTimeout);
+    }
+
+    // Replicas are only read through this pool, the concurrency limiter covers the primary alone
+    private static HikariDataSource replicaPool(HikariDataSource primary, ParcelProperties.ReplicaPool config,
+                                                int index) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica-" + index);
+        pool.setJdbcUrl(config.getUrl());
+        pool.setUsername(config.getUsername() != null ? config.getUsername() : primary.getUsername());
+        pool.setPassword(config.getPassword() != null ? config.getPassword() : primary.getPassword());
+        pool.setMaximumPoolSize(config.getMaximumPoolSize());
+        pool.setConnectionTimeout(primary.getConnectionTimeout());
+        pool.setReadOnly(true);
+        return pool;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import org.hibernate.SessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records entities loaded per Hibernate session, tagged like {@link HibernateSessionMetricsListener}. Session
+ * event listeners get no load callback, so the first load in a session attaches a counter to it, which records
+ * when the session ends. Sessions that load nothing record no sample.
+ */
+public class HibernateEntityLoadMetricsListener implements Integrator, PostLoadEventListener {
+
+    private final Map<UUID, SessionLoads> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        sessionFactory.getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        sessions.clear();
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        EventSource session = event.getSession();
+        sessions.computeIfAbsent(session.getSessionIdentifier(), id -> {
+            SessionLoads loads = new SessionLoads(id);
+            session.getEventListenerManager().addListener(loads);
+            return loads;
+        }).loads++;
+    }
+
+    private class SessionLoads implements SessionEventListener {
+
+        private final UUID sessionId;
+        private int loads;
+
+        private SessionLoads(UUID sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        @Override
+        public void end() {
+            sessions.remove(sessionId);
+            DistributionSummary.builder("hibernate.session.entity.loads")
+                    .description("Entities loaded per session")
+                    .tag("operation", HibernateSessionMetricsListener.currentOperation())
+                    .register(Metrics.globalRegistry)
+                    .record(loads);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.SessionEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records query cost per Hibernate session, tagged with the route that opened it. Hibernate creates one
+ * instance per session, so meters go through the global registry, which Spring Boot binds to its own. Entity loads
+ * come from {@link HibernateEntityLoadMetricsListener}, since sessions get no load callback.
+ */
+public class HibernateSessionMetricsListener implements SessionEventListener {
+
+    private static final String NO_OPERATION = "none";
+
+    private int statements;
+    private int batches;
+    private int flushes;
+    private long jdbcExecutionNanos;
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+        jdbcExecutionNanos += System.nanoTime() - executionStart;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        batches++;
+        jdbcExecutionNanos += System.nanoTime() - executionStart;
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        flushes++;
+    }
+
+    @Override
+    public void end() {
+        String operation = currentOperation();
+        DistributionSummary.builder("hibernate.session.statements")
+                .description("JDBC statements executed per session")
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry)
+                .record(statements);
+        DistributionSummary.builder("hibernate.session.batches")
+                .description("JDBC batches executed per session")
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry)
+                .record(batches);
+        DistributionSummary.builder("hibernate.session.flushes")
+                .description("Flushes per session")
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry)
+                .record(flushes);
+        Timer.builder("hibernate.session.jdbc.execution")
+                .description("Time spent executing JDBC statements per session")
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry)
+                .record(jdbcExecutionNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static String currentOperation() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return NO_OPERATION;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? NO_OPERATION : request.getMethod() + " " + pattern;
+    }
+}
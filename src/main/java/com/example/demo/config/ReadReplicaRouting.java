@@ -0,0 +1,71 @@
+package com.example.demo.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-request routing state of {@link ReadWriteRoutingDataSource}: whether read-only transactions must stay on
+ * the primary, and whether any of them was served by a replica. Tasks handed to other threads share the state of
+ * the submitting request through {@link #propagate}.
+ */
+public final class ReadReplicaRouting {
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private ReadReplicaRouting() {
+    }
+
+    public static void begin(boolean primaryPinned) {
+        State state = new State();
+        state.primaryPinned = primaryPinned;
+        STATE.set(state);
+    }
+
+    public static void end() {
+        STATE.remove();
+    }
+
+    public static boolean isPrimaryPinned() {
+        return STATE.get().primaryPinned;
+    }
+
+    static void markReplicaRead() {
+        STATE.get().replicaRead = true;
+    }
+
+    /**
+     * Whether a replica served a read since the last call. Replicas lag behind the primary, so such results must
+     * not be cached as if they reflected every committed write.
+     */
+    public static boolean consumeReplicaRead() {
+        State state = STATE.get();
+        boolean replicaRead = state.replicaRead;
+        state.replicaRead = false;
+        return replicaRead;
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        State state = STATE.get();
+        return () -> {
+            State previous = STATE.get();
+            STATE.set(state);
+            try {
+                return task.get();
+            } finally {
+                STATE.set(previous);
+            }
+        };
+    }
+
+    public static Runnable propagate(Runnable task) {
+        Supplier<Void> supplier = propagate(() -> {
+            task.run();
+            return null;
+        });
+        return supplier::get;
+    }
+
+    private static final class State {
+        private volatile boolean primaryPinned;
+        private volatile boolean replicaRead;
+    }
+}
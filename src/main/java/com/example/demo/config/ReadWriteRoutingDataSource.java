@@ -0,0 +1,97 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replica pools in turn and everything else to the primary. The physical
+ * connection is only fetched on the first statement, once the transaction has marked it read-only, so the
+ * choice follows {@code @Transactional(readOnly = true)}. Requests that {@link ReadReplicaRouting} pins to the
+ * primary read from it as well.
+ * <p>
+ * Replica lag is not measured: the read-your-writes window has to cover it.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements MeterBinder, Closeable {
+
+    private final HikariDataSource primaryPool;
+    private final List<HikariDataSource> replicaPools;
+    private final Replicas replicas;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primaryPool, DataSource primary,
+                                      List<HikariDataSource> replicaPools) {
+        super(primary);
+        this.primaryPool = primaryPool;
+        this.replicaPools = List.copyOf(replicaPools);
+        this.replicas = new Replicas(primary, this.replicaPools);
+        setReadOnlyDataSource(replicas);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        replicas.primaryReads = Counter.builder("parcel.db.reads")
+                .description("Read-only connections by routing target")
+                .tag("target", "primary")
+                .register(registry);
+        replicas.replicaReads = Counter.builder("parcel.db.reads")
+                .description("Read-only connections by routing target")
+                .tag("target", "replica")
+                .register(registry);
+    }
+
+    // Wrapping hides the pools from Spring's destroy method inference, so they are closed here
+    @Override
+    public void close() {
+        replicaPools.forEach(HikariDataSource::close);
+        primaryPool.close();
+    }
+
+    private static final class Replicas extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final List<HikariDataSource> pools;
+        private final AtomicInteger next = new AtomicInteger();
+        private volatile Counter primaryReads;
+        private volatile Counter replicaReads;
+
+        private Replicas(DataSource primary, List<HikariDataSource> pools) {
+            this.primary = primary;
+            this.pools = pools;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (ReadReplicaRouting.isPrimaryPinned()) {
+                Connection connection = primary.getConnection();
+                increment(primaryReads);
+                return connection;
+            }
+            Connection connection = pools.get(Math.floorMod(next.getAndIncrement(), pools.size())).getConnection();
+            ReadReplicaRouting.markReplicaRead();
+            increment(replicaReads);
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+        }
+
+        private static void increment(Counter counter) {
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.demo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes for {@link ReadWriteRoutingDataSource}: every write request stamps the client with a cookie,
+ * and the client's reads go to the primary until the window has passed. The stamp lives on the client, so it
+ * holds across application instances.
+ * <p>
+ * The stamp is taken once the handler is done, right before the response commits, so a slow write still gets
+ * the whole window after its transaction committed. A stamp from the future, left by an instance whose clock is
+ * ahead, pins too as long as it is less than a window ahead.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String LAST_WRITE_COOKIE = "parcel-last-write";
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final Duration cookieMaxAge;
+
+    public ReadYourWritesFilter(ParcelProperties properties) {
+        ParcelProperties.ReadReplicas config = properties.getReadReplicas();
+        this.enabled = config.isEnabled() && !config.getPools().isEmpty();
+        this.windowMillis = config.getReadYourWritesWindow().toMillis();
+        this.cookieMaxAge = Duration.ofSeconds((windowMillis + 999) / 1000);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        long sinceLastWrite = System.currentTimeMillis() - lastWrite(request);
+        ReadReplicaRouting.begin(write || sinceLastWrite > -windowMillis && sinceLastWrite < windowMillis);
+        try {
+            if (!write) {
+                chain.doFilter(request, response);
+                return;
+            }
+            StampingResponse stamping = new StampingResponse(response);
+            chain.doFilter(request, stamping);
+            // A response without a body commits after the filters return
+            if (!request.isAsyncStarted()) {
+                stamping.stamp();
+            }
+        } finally {
+            ReadReplicaRouting.end();
+        }
+    }
+
+    private static long lastWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds the last write cookie when the handler starts writing the response, or when asked to.
+     */
+    private class StampingResponse extends HttpServletResponseWrapper {
+
+        private boolean stamped;
+
+        StampingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void stamp() {
+            if (stamped || isCommitted()) {
+                return;
+            }
+            stamped = true;
+            addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(LAST_WRITE_COOKIE,
+                            Long.toString(System.currentTimeMillis()))
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .maxAge(cookieMaxAge)
+                    .build()
+                    .toString());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            stamp();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            stamp();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            stamp();
+            super.sendRedirect(location);
+        }
+    }
+}
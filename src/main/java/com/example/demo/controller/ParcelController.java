@@ -1,21 +1,45 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.dto.ApproximateParcelStatistic;
+import com.example.demo.dto.BulkUpdateParcelStatusRequest;
+import com.example.demo.dto.BulkUpdateParcelStatusResult;
 import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.dto.ParcelCursorPage;
 import com.example.demo.dto.ParcelSearchParams;
 import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelStatisticJob;
+import com.example.demo.dto.ParcelView;
 import com.example.demo.dto.UpdateParcelStatusRequest;
 import com.example.demo.model.Parcel;
 import com.example.demo.service.ParcelService;
+import com.example.demo.service.parcel.event.ParcelStatusChangeFilter;
+import com.example.demo.service.parcel.event.ParcelStatusChangeStream;
+import com.example.demo.service.parcel.export.ParcelExportFormat;
+import com.example.demo.service.parcel.export.ParcelExporter;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/parcels")
@@ -23,15 +47,52 @@ import org.springframework.web.bind.annotation.RestController;
 public class ParcelController {
 
     private final ParcelService parcelService;
+    private final ParcelExporter parcelExporter;
+    private final ParcelStatusChangeStream statusChangeStream;
+    private final ParcelProperties properties;
 
+    // Returning a 200 ResponseEntity with an ETag lets Spring answer a matching If-None-Match with 304
+    // before the body is serialized. The parcel itself usually comes from the tracking number cache.
     @GetMapping("/{trackingNumber}")
-    public Parcel findByTrackingNumber(@PathVariable("trackingNumber") String trackingNumber) {
-        return parcelService.getByTrackingNumber(trackingNumber);
+    public ResponseEntity<Parcel> findByTrackingNumber(@PathVariable("trackingNumber") String trackingNumber) {
+        Parcel parcel = parcelService.getByTrackingNumber(trackingNumber);
+        return ResponseEntity.ok().eTag(ParcelETags.of(parcel)).varyBy(HttpHeaders.ACCEPT).body(parcel);
     }
 
     @GetMapping
-    public Page<Parcel> findAll(ParcelSearchParams params, Pageable pageable) {
-        return parcelService.findAll(params, pageable);
+    public ResponseEntity<Page<ParcelView>> findAll(ParcelSearchParams params, Pageable pageable) {
+        Page<ParcelView> page = parcelService.findAllViews(params, pageable);
+        return ResponseEntity.ok().eTag(ParcelETags.of(page)).varyBy(HttpHeaders.ACCEPT).body(page);
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<ParcelCursorPage> scroll(ParcelSearchParams params,
+                                                   @RequestParam(name = "cursor", required = false) String cursor,
+                                                   @RequestParam(name = "size", defaultValue = "20") int size,
+                                                   Sort sort) {
+        ParcelCursorPage page = parcelService.findAll(params, cursor, size, sort);
+        return ResponseEntity.ok().eTag(ParcelETags.of(page)).varyBy(HttpHeaders.ACCEPT).body(page);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(ParcelSearchParams params,
+                                                        @RequestParam(name = "format", defaultValue = "NDJSON")
+                                                        ParcelExportFormat format,
+                                                        HttpServletRequest request) {
+        // Only exports may outlive the default async request timeout
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest()
+                .setTimeout(properties.getExport().getTimeout().toMillis());
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(out -> parcelExporter.export(params, format, out));
+    }
+
+    @GetMapping(value = "/status-changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter statusChanges(@RequestParam(name = "trackingNumber", required = false) List<String> trackingNumbers,
+                                    @RequestParam(name = "sender", required = false) String sender,
+                                    @RequestParam(name = "recipient", required = false) String recipient,
+                                    @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return statusChangeStream.subscribe(ParcelStatusChangeFilter.of(trackingNumbers, sender, recipient), lastEventId);
     }
 
     @GetMapping("/statistic")
@@ -39,14 +100,44 @@ public class ParcelController {
         return parcelService.buildStatistic(params);
     }
 
+    @GetMapping("/statistic/approximate")
+    public ApproximateParcelStatistic approximateStatistic(ParcelSearchParams params,
+                                                           @RequestParam(name = "samplePercent", required = false)
+                                                           Double samplePercent) {
+        return parcelService.buildApproximateStatistic(params, samplePercent);
+    }
+
+    @PostMapping("/statistic/jobs")
+    public ResponseEntity<ParcelStatisticJob> submitStatisticJob(ParcelSearchParams params) {
+        ParcelStatisticJob job = parcelService.submitStatisticJob(params);
+        return ResponseEntity.accepted()
+                .location(URI.create("/parcels/statistic/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/statistic/jobs/{id}")
+    public ParcelStatisticJob getStatisticJob(@PathVariable("id") String id) {
+        return parcelService.getStatisticJob(id);
+    }
+
     @PostMapping
     public Parcel create(@RequestBody CreateParcelRequest request) {
         return parcelService.create(request);
     }
 
+    @PostMapping("/batch")
+    public List<Parcel> createAll(@RequestBody List<CreateParcelRequest> requests) {
+        return parcelService.createAll(requests);
+    }
+
+    @PatchMapping("/batch")
+    public List<BulkUpdateParcelStatusResult> updateStatuses(@RequestBody BulkUpdateParcelStatusRequest request) {
+        return parcelService.updateStatuses(request);
+    }
+
     @PatchMapping("/{trackingNumber}")
     public Parcel updateStatus(@PathVariable("trackingNumber") String trackingNumber,
                                @RequestBody UpdateParcelStatusRequest request) {
-        return parcelService.updateStatus(trackingNumber, request.getStatus());
+        return parcelService.updateStatus(trackingNumber, request.getStatus(), request.getVersion());
     }
 }
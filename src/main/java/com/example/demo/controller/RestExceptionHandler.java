@@ -1,7 +1,12 @@
 package com.example.demo.controller;
 
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.ConflictException;
 import com.example.demo.exception.NotFoundException;
+import com.example.demo.exception.TooManyRequestsException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -15,6 +20,36 @@ public class RestExceptionHandler {
         return new ErrorDto(e.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(BadRequestException.class)
+    public ErrorDto badRequest(BadRequestException e) {
+        return new ErrorDto(e.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(ConflictException.class)
+    public ErrorDto conflict(ConflictException e) {
+        return new ErrorDto(e.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ErrorDto optimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        return new ErrorDto("Parcel was modified concurrently");
+    }
+
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ErrorDto tooManyRequests(TooManyRequestsException e) {
+        return new ErrorDto(e.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ErrorDto cannotCreateTransaction(CannotCreateTransactionException e) {
+        return new ErrorDto("Database is busy, retry later");
+    }
+
     public record ErrorDto(String message) {
     }
 }
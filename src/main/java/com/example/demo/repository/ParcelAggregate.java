@@ -0,0 +1,13 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+
+import java.util.Map;
+
+public record ParcelAggregate(long totalParcels,
+                              double averageWeight,
+                              double averagePrice,
+                              Map<ParcelStatus, Long> countByStatus,
+                              Map<DeliveryType, Long> countByDeliveryType) {
+}
@@ -0,0 +1,13 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Parcel;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ParcelAggregationRepository {
+
+    /**
+     * Computes count, averages and per-enum counts of parcels matching the specification
+     * in a single scan, without loading any entity.
+     */
+    ParcelAggregate aggregate(Specification<Parcel> spec);
+}
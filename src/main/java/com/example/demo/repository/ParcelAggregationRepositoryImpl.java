@@ -0,0 +1,92 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class ParcelAggregationRepositoryImpl implements ParcelAggregationRepository {
+
+    private static final int TOTAL_INDEX = 0;
+    private static final int AVERAGE_WEIGHT_INDEX = 1;
+    private static final int AVERAGE_PRICE_INDEX = 2;
+    private static final int STATUS_COUNTS_OFFSET = 3;
+    private static final int DELIVERY_TYPE_COUNTS_OFFSET = STATUS_COUNTS_OFFSET + ParcelStatus.values().length;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public ParcelAggregate aggregate(Specification<Parcel> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Parcel> root = query.from(Parcel.class);
+
+        // Per-enum counts are computed as conditional sums, so the whole aggregate is one row from one scan
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(cb.count(root));
+        selections.add(cb.avg(root.get(Parcel.Fields.weight)));
+        selections.add(cb.avg(root.get(Parcel.Fields.price)));
+        Path<ParcelStatus> status = root.get(Parcel.Fields.status);
+        for (ParcelStatus value : ParcelStatus.values()) {
+            selections.add(countWhere(cb, status, value));
+        }
+        Path<DeliveryType> deliveryType = root.get(Parcel.Fields.deliveryType);
+        for (DeliveryType value : DeliveryType.values()) {
+            selections.add(countWhere(cb, deliveryType, value));
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Tuple tuple = entityManager.createQuery(query).getSingleResult();
+
+        Map<ParcelStatus, Long> countByStatus = new EnumMap<>(ParcelStatus.class);
+        for (ParcelStatus value : ParcelStatus.values()) {
+            countByStatus.put(value, longOrZero(tuple.get(STATUS_COUNTS_OFFSET + value.ordinal())));
+        }
+        Map<DeliveryType, Long> countByDeliveryType = new EnumMap<>(DeliveryType.class);
+        for (DeliveryType value : DeliveryType.values()) {
+            countByDeliveryType.put(value, longOrZero(tuple.get(DELIVERY_TYPE_COUNTS_OFFSET + value.ordinal())));
+        }
+
+        return new ParcelAggregate(
+                longOrZero(tuple.get(TOTAL_INDEX)),
+                doubleOrZero(tuple.get(AVERAGE_WEIGHT_INDEX)),
+                doubleOrZero(tuple.get(AVERAGE_PRICE_INDEX)),
+                countByStatus,
+                countByDeliveryType);
+    }
+
+    private static <T> Expression<Long> countWhere(CriteriaBuilder cb, Path<T> path, T value) {
+        return cb.sum(cb.<Long>selectCase()
+                .when(cb.equal(path, value), 1L)
+                .otherwise(0L));
+    }
+
+    private static long longOrZero(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    private static double doubleOrZero(Object value) {
+        return value == null ? 0d : ((Number) value).doubleValue();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface ParcelBatchRepository {
+
+    /**
+     * Inserts new parcels using JDBC batches, flushing and detaching them chunk by chunk
+     * so the persistence context does not grow with the input.
+     */
+    List<Parcel> insertAll(List<Parcel> parcels);
+
+    /**
+     * Applies all status updates with a single statement and returns the new state
+     * of every parcel that was updated, keyed by tracking number. Callers that update several
+     * chunks in one transaction should pass them in tracking number order.
+     */
+    Map<String, UpdatedParcelStatus> updateStatuses(List<ParcelStatusUpdate> updates);
+
+    /**
+     * Sets the status with a single conditional statement and returns the updated parcel, or nothing when the
+     * parcel is missing or its version differs from {@code expectedVersion}. Pending changes are flushed and the
+     * persistence context is cleared first, as {@code @Modifying} would do.
+     */
+    Optional<Parcel> updateStatus(String trackingNumber, ParcelStatus status, Long expectedVersion);
+
+    Set<String> findExistingTrackingNumbers(Collection<String> trackingNumbers);
+}
@@ -0,0 +1,136 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class ParcelBatchRepositoryImpl implements ParcelBatchRepository {
+
+    // Rows are locked in tracking number order, so concurrent batches that overlap wait instead of deadlocking
+    private static final String UPDATE_STATUSES_SQL = """
+            WITH locked AS (
+                SELECT p.id, u.status
+                FROM parcel p
+                JOIN unnest(?::varchar[], ?::varchar[], ?::bigint[]) AS u(tracking_number, status, expected_version)
+                  ON p.tracking_number = u.tracking_number
+                WHERE u.expected_version IS NULL OR p.version = u.expected_version
+                ORDER BY p.tracking_number COLLATE "C"
+                FOR UPDATE OF p
+            )
+            UPDATE parcel p
+            SET status = l.status, version = p.version + 1
+            FROM locked l
+            WHERE p.id = l.id
+            RETURNING p.tracking_number, p.sender, p.recipient, p.status, p.version
+            """;
+
+    private static final String UPDATE_STATUS_SQL = """
+            UPDATE parcel
+            SET status = :status, version = version + 1
+            WHERE tracking_number = :trackingNumber
+              AND (CAST(:expectedVersion AS bigint) IS NULL OR version = :expectedVersion)
+            RETURNING *
+            """;
+
+    private static final String FIND_EXISTING_SQL = """
+            SELECT tracking_number FROM parcel WHERE tracking_number = ANY (?::varchar[])
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public List<Parcel> insertAll(List<Parcel> parcels) {
+        for (int i = 0; i < parcels.size(); i++) {
+            entityManager.persist(parcels.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return parcels;
+    }
+
+    @Override
+    public Map<String, UpdatedParcelStatus> updateStatuses(List<ParcelStatusUpdate> updates) {
+        String[] trackingNumbers = new String[updates.size()];
+        String[] statuses = new String[updates.size()];
+        Long[] expectedVersions = new Long[updates.size()];
+        for (int i = 0; i < updates.size(); i++) {
+            ParcelStatusUpdate update = updates.get(i);
+            trackingNumbers[i] = update.trackingNumber();
+            statuses[i] = update.status().name();
+            expectedVersions[i] = update.expectedVersion();
+        }
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_STATUSES_SQL)) {
+                statement.setArray(1, connection.createArrayOf("varchar", trackingNumbers));
+                statement.setArray(2, connection.createArrayOf("varchar", statuses));
+                statement.setArray(3, connection.createArrayOf("bigint", expectedVersions));
+                Map<String, UpdatedParcelStatus> updated = new HashMap<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        updated.put(resultSet.getString(1), new UpdatedParcelStatus(
+                                resultSet.getString(1),
+                                resultSet.getString(2),
+                                resultSet.getString(3),
+                                ParcelStatus.valueOf(resultSet.getString(4)),
+                                resultSet.getLong(5)));
+                    }
+                }
+                return updated;
+            }
+        });
+    }
+
+    @Override
+    public Optional<Parcel> updateStatus(String trackingNumber, ParcelStatus status, Long expectedVersion) {
+        // A parcel already managed by this context would be returned as is, without the updated columns
+        entityManager.flush();
+        entityManager.clear();
+        List<?> updated = entityManager.createNativeQuery(UPDATE_STATUS_SQL, Parcel.class)
+                .setParameter("trackingNumber", trackingNumber)
+                .setParameter("status", status.name())
+                .setParameter("expectedVersion", expectedVersion)
+                .getResultList();
+        return updated.stream().map(Parcel.class::cast).findFirst();
+    }
+
+    @Override
+    public Set<String> findExistingTrackingNumbers(Collection<String> trackingNumbers) {
+        if (trackingNumbers.isEmpty()) {
+            return Set.of();
+        }
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(FIND_EXISTING_SQL)) {
+                statement.setArray(1, connection.createArrayOf("varchar", trackingNumbers.toArray()));
+                Set<String> existing = new HashSet<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existing.add(resultSet.getString(1));
+                    }
+                }
+                return existing;
+            }
+        });
+    }
+}
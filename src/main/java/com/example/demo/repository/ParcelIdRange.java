@@ -0,0 +1,8 @@
+package com.example.demo.repository;
+
+public record ParcelIdRange(Long min, Long max) {
+
+    public boolean isEmpty() {
+        return min == null;
+    }
+}
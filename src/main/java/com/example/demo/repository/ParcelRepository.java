@@ -3,11 +3,25 @@ package com.example.demo.repository;
 import com.example.demo.model.Parcel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface ParcelRepository extends JpaRepository<Parcel, Long>,
-        JpaSpecificationExecutor<Parcel> {
+        JpaSpecificationExecutor<Parcel>,
+        ParcelAggregationRepository,
+        ParcelBatchRepository,
+        ParcelRollupRepository,
+        ParcelSampleRepository,
+        ParcelStreamRepository,
+        ParcelViewRepository {
 
+    @Transactional(readOnly = true)
     Optional<Parcel> findByTrackingNumber(String trackingNumber);
+
+    boolean existsByTrackingNumber(String trackingNumber);
+
+    @Query("SELECT new com.example.demo.repository.ParcelIdRange(MIN(p.id), MAX(p.id)) FROM Parcel p")
+    ParcelIdRange findIdRange();
 }
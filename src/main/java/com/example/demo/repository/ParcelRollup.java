@@ -0,0 +1,14 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+
+/**
+ * Totals of one (status, delivery type) group: the {@code parcel_rollup} row plus the deltas not folded in yet.
+ */
+public record ParcelRollup(ParcelStatus status,
+                           DeliveryType deliveryType,
+                           long parcelCount,
+                           double weightSum,
+                           double priceSum) {
+}
@@ -0,0 +1,26 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * A rollup group next to the same totals computed from the parcel table. Both sides sum {@code numeric} values,
+ * so they are compared exactly.
+ */
+public record ParcelRollupCheck(ParcelStatus status,
+                                DeliveryType deliveryType,
+                                long rollupCount,
+                                long actualCount,
+                                BigDecimal rollupWeightSum,
+                                BigDecimal actualWeightSum,
+                                BigDecimal rollupPriceSum,
+                                BigDecimal actualPriceSum) {
+
+    public boolean matches() {
+        return rollupCount == actualCount
+                && rollupWeightSum.compareTo(actualWeightSum) == 0
+                && rollupPriceSum.compareTo(actualPriceSum) == 0;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.repository;
+
+/**
+ * Ids of the extreme parcels over a set of rollup groups, {@code null} if the groups are empty. Ties go to the
+ * lowest id.
+ */
+public record ParcelRollupExtremes(Long mostExpensiveId,
+                                   Long cheapestId,
+                                   Long heaviestId,
+                                   Long lightestId) {
+}
@@ -0,0 +1,44 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Access to {@code parcel_rollup}, the per (status, delivery type) totals kept by triggers on {@code parcel}.
+ * The triggers append to {@code parcel_rollup_delta}, which reads add in and {@link #compactRollups()} folds in.
+ */
+public interface ParcelRollupRepository {
+
+    List<ParcelRollup> findRollups();
+
+    /**
+     * Finds the extreme parcels over the given groups with one index probe per group and measure.
+     */
+    ParcelRollupExtremes findRollupExtremes(Collection<ParcelStatus> statuses, Collection<DeliveryType> deliveryTypes);
+
+    /**
+     * Folds the committed deltas into {@code parcel_rollup}, returns how many groups changed.
+     */
+    int compactRollups();
+
+    /**
+     * Whether all rollup triggers on {@code parcel} are enabled. Writes made while any of them was disabled are
+     * missing from the rollup until {@link #rebuildRollup} repairs the groups.
+     */
+    boolean rollupTriggersEnabled();
+
+    /**
+     * Compares every group of the rollup with a {@code GROUP BY} over the parcel table. Both sides are read
+     * in one statement, so concurrent writes cannot show up as drift.
+     */
+    List<ParcelRollupCheck> checkRollups();
+
+    /**
+     * Recomputes one group from the parcel table and drops its deltas in the same statement. Deltas of writers
+     * that commit later apply on top of the rebuilt totals.
+     */
+    void rebuildRollup(ParcelStatus status, DeliveryType deliveryType);
+}
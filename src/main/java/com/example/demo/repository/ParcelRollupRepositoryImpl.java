@@ -0,0 +1,162 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public class ParcelRollupRepositoryImpl implements ParcelRollupRepository {
+
+    private static final List<String> TRIGGERS = List.of(
+            "parcel_rollup_insert", "parcel_rollup_update", "parcel_rollup_delete", "parcel_rollup_truncate");
+
+    // Folded rows plus pending deltas, read in the same snapshot
+    private static final String ROLLUPS = """
+            (SELECT status, delivery_type, sum(parcel_count) AS parcel_count,
+                    sum(weight_sum) AS weight_sum, sum(price_sum) AS price_sum
+             FROM (SELECT status, delivery_type, parcel_count, weight_sum, price_sum FROM parcel_rollup
+                   UNION ALL
+                   SELECT status, delivery_type, parcel_count, weight_sum, price_sum FROM parcel_rollup_delta) g
+             GROUP BY status, delivery_type)""";
+
+    private static final String EXTREME = """
+            (SELECT e.id
+             FROM g CROSS JOIN LATERAL (SELECT p.id, p.%1$s FROM parcel p
+                                        WHERE p.status = g.status AND p.delivery_type = g.delivery_type
+                                        ORDER BY p.%1$s %2$s, p.id LIMIT 1) e
+             ORDER BY e.%1$s %2$s, e.id LIMIT 1)""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ParcelRollup> findRollups() {
+        List<Object[]> rows = entityManager.createNativeQuery("""
+                        SELECT status, delivery_type, parcel_count, weight_sum, price_sum
+                        FROM %s r
+                        """.formatted(ROLLUPS))
+                .getResultList();
+        return rows.stream()
+                .map(row -> new ParcelRollup(
+                        ParcelStatus.valueOf((String) row[0]),
+                        DeliveryType.valueOf((String) row[1]),
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).doubleValue(),
+                        ((Number) row[4]).doubleValue()))
+                .toList();
+    }
+
+    @Override
+    public ParcelRollupExtremes findRollupExtremes(Collection<ParcelStatus> statuses,
+                                                   Collection<DeliveryType> deliveryTypes) {
+        Object[] row = (Object[]) entityManager.createNativeQuery("""
+                        WITH g AS (SELECT s.status, d.delivery_type
+                                   FROM unnest(CAST(:statuses AS varchar[])) AS s(status)
+                                            CROSS JOIN unnest(CAST(:deliveryTypes AS varchar[])) AS d(delivery_type))
+                        SELECT %s, %s, %s, %s
+                        """.formatted(
+                        EXTREME.formatted("price", "DESC"),
+                        EXTREME.formatted("price", "ASC"),
+                        EXTREME.formatted("weight", "DESC"),
+                        EXTREME.formatted("weight", "ASC")))
+                .setParameter("statuses", statuses.stream().map(Enum::name).toArray(String[]::new))
+                .setParameter("deliveryTypes", deliveryTypes.stream().map(Enum::name).toArray(String[]::new))
+                .getSingleResult();
+        return new ParcelRollupExtremes(longOrNull(row[0]), longOrNull(row[1]), longOrNull(row[2]),
+                longOrNull(row[3]));
+    }
+
+    @Override
+    @Transactional
+    public int compactRollups() {
+        // Deltas committed after this statement started stay for the next run
+        return entityManager.createNativeQuery("""
+                        WITH moved AS (DELETE FROM parcel_rollup_delta
+                                       RETURNING status, delivery_type, parcel_count, weight_sum, price_sum)
+                        INSERT INTO parcel_rollup AS r (status, delivery_type, parcel_count, weight_sum, price_sum)
+                        SELECT status, delivery_type, sum(parcel_count), sum(weight_sum), sum(price_sum)
+                        FROM moved
+                        GROUP BY status, delivery_type
+                        ORDER BY status, delivery_type
+                        ON CONFLICT (status, delivery_type) DO UPDATE
+                            SET parcel_count = r.parcel_count + excluded.parcel_count,
+                                weight_sum   = r.weight_sum + excluded.weight_sum,
+                                price_sum    = r.price_sum + excluded.price_sum
+                        """)
+                .executeUpdate();
+    }
+
+    @Override
+    public boolean rollupTriggersEnabled() {
+        Number enabled = (Number) entityManager.createNativeQuery("""
+                        SELECT count(*) FROM pg_trigger
+                        WHERE tgrelid = CAST('parcel' AS regclass) AND tgname IN (:triggers) AND tgenabled <> 'D'
+                        """)
+                .setParameter("triggers", TRIGGERS)
+                .getSingleResult();
+        return enabled.intValue() == TRIGGERS.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ParcelRollupCheck> checkRollups() {
+        List<Object[]> rows = entityManager.createNativeQuery("""
+                        SELECT coalesce(r.status, a.status), coalesce(r.delivery_type, a.delivery_type),
+                               coalesce(r.parcel_count, 0), coalesce(a.parcel_count, 0),
+                               coalesce(r.weight_sum, 0), coalesce(a.weight_sum, 0),
+                               coalesce(r.price_sum, 0), coalesce(a.price_sum, 0)
+                        FROM %s r
+                        FULL JOIN (SELECT status, delivery_type, count(*) AS parcel_count,
+                                          sum(CAST(weight AS numeric)) AS weight_sum,
+                                          sum(CAST(price AS numeric)) AS price_sum
+                                   FROM parcel
+                                   GROUP BY status, delivery_type) a
+                            ON a.status = r.status AND a.delivery_type = r.delivery_type
+                        ORDER BY 1, 2
+                        """.formatted(ROLLUPS))
+                .getResultList();
+        return rows.stream()
+                .map(row -> new ParcelRollupCheck(
+                        ParcelStatus.valueOf((String) row[0]),
+                        DeliveryType.valueOf((String) row[1]),
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue(),
+                        (BigDecimal) row[4],
+                        (BigDecimal) row[5],
+                        (BigDecimal) row[6],
+                        (BigDecimal) row[7]))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void rebuildRollup(ParcelStatus status, DeliveryType deliveryType) {
+        // One statement, so the dropped deltas and the recomputed totals come from the same snapshot
+        entityManager.createNativeQuery("""
+                        WITH dropped AS (DELETE FROM parcel_rollup_delta
+                                         WHERE status = :status AND delivery_type = :deliveryType)
+                        INSERT INTO parcel_rollup AS r (status, delivery_type, parcel_count, weight_sum, price_sum)
+                        SELECT CAST(:status AS varchar), CAST(:deliveryType AS varchar), count(*),
+                               coalesce(sum(CAST(p.weight AS numeric)), 0), coalesce(sum(CAST(p.price AS numeric)), 0)
+                        FROM parcel p
+                        WHERE p.status = :status AND p.delivery_type = :deliveryType
+                        ON CONFLICT (status, delivery_type) DO UPDATE
+                            SET parcel_count = excluded.parcel_count,
+                                weight_sum   = excluded.weight_sum,
+                                price_sum    = excluded.price_sum
+                        """)
+                .setParameter("status", status.name())
+                .setParameter("deliveryType", deliveryType.name())
+                .executeUpdate();
+    }
+
+    private static Long longOrNull(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+}
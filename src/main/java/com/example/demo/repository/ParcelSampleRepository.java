@@ -0,0 +1,13 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.ParcelSearchParams;
+
+public interface ParcelSampleRepository {
+
+    /**
+     * Passes the numeric and enum columns of matching parcels from a {@code TABLESAMPLE BERNOULLI} sample, which
+     * keeps each row independently with probability {@code percent}, to {@code consumer}. Every page is still read,
+     * but the rows of a page are not kept or dropped together. No entities are created.
+     */
+    void sample(ParcelSearchParams params, double percent, int fetchSize, SampledParcelConsumer consumer);
+}
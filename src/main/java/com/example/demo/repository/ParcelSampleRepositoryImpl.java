@@ -0,0 +1,44 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+public class ParcelSampleRepositoryImpl implements ParcelSampleRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void sample(ParcelSearchParams params, double percent, int fetchSize, SampledParcelConsumer consumer) {
+        ParcelSqlFilter filter = ParcelSqlFilter.of(params);
+        String sql = "SELECT weight, price, status, delivery_type FROM parcel TABLESAMPLE BERNOULLI (?::real) WHERE "
+                + filter.where();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setFetchSize(fetchSize);
+                statement.setDouble(1, percent);
+                List<Object> parameters = filter.parameters();
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 2, parameters.get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        consumer.accept(
+                                resultSet.getDouble(1),
+                                resultSet.getDouble(2),
+                                ParcelStatus.valueOf(resultSet.getString(3)),
+                                DeliveryType.valueOf(resultSet.getString(4)));
+                    }
+                }
+            }
+        });
+    }
+}
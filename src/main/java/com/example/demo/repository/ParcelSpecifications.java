@@ -0,0 +1,44 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.TextMatchMode;
+import com.example.demo.model.Parcel;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import static com.example.demo.util.SpecificationUtils.gte;
+import static com.example.demo.util.SpecificationUtils.iLike;
+import static com.example.demo.util.SpecificationUtils.iStartsWith;
+import static com.example.demo.util.SpecificationUtils.in;
+import static com.example.demo.util.SpecificationUtils.lte;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ParcelSpecifications {
+
+    public static Specification<Parcel> bySearchParams(ParcelSearchParams params) {
+        if (params == null) {
+            return Specification.where(null);
+        }
+        return Specification.<Parcel>where(trackingNumber(params))
+                .and(iLike(Parcel.Fields.sender, params.getSender()))
+                .and(iLike(Parcel.Fields.recipient, params.getRecipient()))
+                .and(gte(Parcel.Fields.weight, params.getFromWeight()))
+                .and(lte(Parcel.Fields.weight, params.getToWeight()))
+                .and(gte(Parcel.Fields.price, params.getFromPrice()))
+                .and(lte(Parcel.Fields.price, params.getToPrice()))
+                .and(in(Parcel.Fields.status, params.getStatuses()))
+                .and(in(Parcel.Fields.deliveryType, params.getDeliveryTypes()));
+    }
+
+    public static Specification<Parcel> idBetween(long fromInclusive, long toInclusive) {
+        return (root, query, cb) -> cb.between(root.get(Parcel.Fields.id), fromInclusive, toInclusive);
+    }
+
+    private static Specification<Parcel> trackingNumber(ParcelSearchParams params) {
+        if (params.getTrackingNumberMatch() == TextMatchMode.PREFIX) {
+            return iStartsWith(Parcel.Fields.trackingNumber, params.getTrackingNumber());
+        }
+        return iLike(Parcel.Fields.trackingNumber, params.getTrackingNumber());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Parcel;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface ParcelStreamRepository {
+
+    /**
+     * Streams matching parcels over a forward-only database cursor. Must be consumed inside a transaction
+     * and closed by the caller.
+     */
+    Stream<Parcel> streamAll(Specification<Parcel> spec, int fetchSize);
+}
@@ -0,0 +1,16 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.ParcelView;
+import com.example.demo.model.Parcel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ParcelViewRepository {
+
+    /**
+     * Selects matching parcels straight into {@link ParcelView} records, so nothing enters the persistence
+     * context. The count query is skipped when the page size tells the total already.
+     */
+    Page<ParcelView> findAllViews(Specification<Parcel> spec, Pageable pageable);
+}
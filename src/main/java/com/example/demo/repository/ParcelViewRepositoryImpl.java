@@ -0,0 +1,71 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.ParcelView;
+import com.example.demo.model.Parcel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+public class ParcelViewRepositoryImpl implements ParcelViewRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ParcelView> findAllViews(Specification<Parcel> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ParcelView> query = cb.createQuery(ParcelView.class);
+        Root<Parcel> root = query.from(Parcel.class);
+        query.select(cb.construct(ParcelView.class,
+                root.get(Parcel.Fields.id),
+                root.get(Parcel.Fields.trackingNumber),
+                root.get(Parcel.Fields.sender),
+                root.get(Parcel.Fields.recipient),
+                root.get(Parcel.Fields.weight),
+                root.get(Parcel.Fields.price),
+                root.get(Parcel.Fields.status),
+                root.get(Parcel.Fields.deliveryType),
+                root.get(Parcel.Fields.version)));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<ParcelView> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<ParcelView> content = typedQuery.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Parcel> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Parcel> root = query.from(Parcel.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+
+@FunctionalInterface
+public interface SampledParcelConsumer {
+
+    void accept(double weight, double price, ParcelStatus status, DeliveryType deliveryType);
+}
@@ -0,0 +1,7 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.ParcelStatus;
+
+public record UpdatedParcelStatus(String trackingNumber, String sender, String recipient, ParcelStatus status,
+                                  long version) {
+}
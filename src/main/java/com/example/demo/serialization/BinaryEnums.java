@@ -0,0 +1,23 @@
+package com.example.demo.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * Enums go over the binary wire format as ordinals, so their declaration order is part of the contract:
+ * new constants must be appended and existing ones never reordered or removed.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class BinaryEnums {
+
+    static void writeField(JsonGenerator gen, String name, Enum<?> value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value.ordinal());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.serialization;
+
+import com.example.demo.dto.ParcelView;
+import com.example.demo.model.Parcel;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Reflection-free serializers for the binary wire format. Not registered for JSON, which keeps enum names.
+ */
+public class ParcelBinaryModule extends SimpleModule {
+
+    public ParcelBinaryModule() {
+        super("ParcelBinaryModule");
+        addSerializer(Parcel.class, new ParcelSerializer());
+        addSerializer(ParcelView.class, new ParcelViewSerializer());
+    }
+}
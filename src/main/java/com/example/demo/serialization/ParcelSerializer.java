@@ -0,0 +1,37 @@
+package com.example.demo.serialization;
+
+import com.example.demo.model.Parcel;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Parcel} field by field, with status and delivery type as ordinals.
+ */
+public class ParcelSerializer extends StdSerializer<Parcel> {
+
+    public ParcelSerializer() {
+        super(Parcel.class);
+    }
+
+    @Override
+    public void serialize(Parcel parcel, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(parcel, 9);
+        if (parcel.getId() != null) {
+            gen.writeNumberField("id", parcel.getId());
+        } else {
+            gen.writeNullField("id");
+        }
+        gen.writeStringField("trackingNumber", parcel.getTrackingNumber());
+        gen.writeStringField("sender", parcel.getSender());
+        gen.writeStringField("recipient", parcel.getRecipient());
+        gen.writeNumberField("weight", parcel.getWeight());
+        gen.writeNumberField("price", parcel.getPrice());
+        BinaryEnums.writeField(gen, "status", parcel.getStatus());
+        BinaryEnums.writeField(gen, "deliveryType", parcel.getDeliveryType());
+        gen.writeNumberField("version", parcel.getVersion());
+        gen.writeEndObject();
+    }
+}
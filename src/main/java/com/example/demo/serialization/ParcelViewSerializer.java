@@ -0,0 +1,33 @@
+package com.example.demo.serialization;
+
+import com.example.demo.dto.ParcelView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link ParcelView} field by field, with status and delivery type as ordinals.
+ */
+public class ParcelViewSerializer extends StdSerializer<ParcelView> {
+
+    public ParcelViewSerializer() {
+        super(ParcelView.class);
+    }
+
+    @Override
+    public void serialize(ParcelView view, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(view, 9);
+        gen.writeNumberField("id", view.id());
+        gen.writeStringField("trackingNumber", view.trackingNumber());
+        gen.writeStringField("sender", view.sender());
+        gen.writeStringField("recipient", view.recipient());
+        gen.writeNumberField("weight", view.weight());
+        gen.writeNumberField("price", view.price());
+        BinaryEnums.writeField(gen, "status", view.status());
+        BinaryEnums.writeField(gen, "deliveryType", view.deliveryType());
+        gen.writeNumberField("version", view.version());
+        gen.writeEndObject();
+    }
+}
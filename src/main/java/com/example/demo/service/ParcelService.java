@@ -1,12 +1,22 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.ApproximateParcelStatistic;
+import com.example.demo.dto.BulkUpdateParcelStatusRequest;
+import com.example.demo.dto.BulkUpdateParcelStatusResult;
 import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.dto.ParcelCursorPage;
 import com.example.demo.model.Parcel;
 import com.example.demo.dto.ParcelSearchParams;
 import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelStatisticJob;
+import com.example.demo.dto.ParcelView;
 import com.example.demo.model.ParcelStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ParcelService {
 
@@ -14,9 +24,51 @@ public interface ParcelService {
 
     Page<Parcel> findAll(ParcelSearchParams params, Pageable pageable);
 
+    /**
+     * Read-only variant of {@link #findAll(ParcelSearchParams, Pageable)} that returns immutable projections
+     * instead of managed entities.
+     */
+    Page<ParcelView> findAllViews(ParcelSearchParams params, Pageable pageable);
+
+    /**
+     * Keyset variant of {@link #findAll(ParcelSearchParams, Pageable)}: no offset scan and no count query.
+     * {@code cursor} is the token returned with the previous page, or {@code null} for the first page,
+     * in which case {@code sort} defines the ordering for the whole iteration.
+     */
+    ParcelCursorPage findAll(ParcelSearchParams params, String cursor, int size, Sort sort);
+
+    /**
+     * Passes every parcel matching {@code params} to {@code consumer} as rows arrive from the database.
+     * Parcels are detached, so memory use does not depend on the number of matching rows.
+     */
+    void streamAll(ParcelSearchParams params, Consumer<Parcel> consumer);
+
     ParcelStatistic buildStatistic(ParcelSearchParams params);
 
+    /**
+     * Estimates the statistic from a sample of about {@code samplePercent} of the table, with error bounds and
+     * weight/price percentiles. A {@code null} percent uses the configured default.
+     */
+    ApproximateParcelStatistic buildApproximateStatistic(ParcelSearchParams params, Double samplePercent);
+
+    /**
+     * Starts computing the statistic in the background, or joins an identical job that is still running.
+     */
+    ParcelStatisticJob submitStatisticJob(ParcelSearchParams params);
+
+    ParcelStatisticJob getStatisticJob(String id);
+
     Parcel create(CreateParcelRequest request);
 
+    List<Parcel> createAll(List<CreateParcelRequest> requests);
+
     Parcel updateStatus(String trackingNumber, ParcelStatus status);
+
+    /**
+     * Same as {@link #updateStatus(String, ParcelStatus)}, but only applies when the parcel is still at
+     * {@code expectedVersion}; a {@code null} version updates unconditionally.
+     */
+    Parcel updateStatus(String trackingNumber, ParcelStatus status, Long expectedVersion);
+
+    List<BulkUpdateParcelStatusResult> updateStatuses(BulkUpdateParcelStatusRequest request);
 }
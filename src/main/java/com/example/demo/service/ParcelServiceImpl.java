@@ -1,58 +1,210 @@
 package com.example.demo.service;
 
 import com.example.demo.common.ComponentForProduceCycleDependency;
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.config.ReadReplicaRouting;
+import com.example.demo.dto.ApproximateParcelStatistic;
+import com.example.demo.dto.BulkUpdateParcelStatusRequest;
+import com.example.demo.dto.BulkUpdateParcelStatusResult;
 import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.dto.ParcelCursorPage;
 import com.example.demo.dto.ParcelSearchParams;
 import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelStatisticJob;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.ConflictException;
 import com.example.demo.exception.NotFoundException;
-import com.example.demo.model.DeliveryType;
 import com.example.demo.model.Parcel;
 import com.example.demo.model.ParcelStatus;
 import com.example.demo.repository.ParcelRepository;
-import com.example.demo.service.parcel.price.DefaultDeliveryPriceCalculator;
-import com.example.demo.service.parcel.price.EconomDeliveryPriceCalculator;
-import com.example.demo.service.parcel.price.ExpressDeliveryPriceCalculator;
+import com.example.demo.repository.ParcelSpecifications;
+import com.example.demo.repository.ParcelStatusUpdate;
+import com.example.demo.repository.UpdatedParcelStatus;
+import com.example.demo.service.parcel.columnar.ParcelColumnarIndex;
+import com.example.demo.service.parcel.create.ParcelGroupCommitter;
+import com.example.demo.service.parcel.cursor.ParcelCursor;
+import com.example.demo.service.parcel.cursor.ParcelCursorCodec;
+import com.example.demo.service.parcel.event.ParcelStatusChangeStream;
+import com.example.demo.service.parcel.lookup.ParcelLookupCache;
+import com.example.demo.service.parcel.price.PriceCalculatorRegistry;
+import com.example.demo.service.parcel.statistic.ApproximateParcelStatisticCalculator;
+import com.example.demo.service.parcel.statistic.ParcelRollupStatisticCalculator;
+import com.example.demo.service.parcel.statistic.ParcelStatisticCache;
+import com.example.demo.service.parcel.statistic.ParcelStatisticJobRunner;
+import com.example.demo.service.parcel.statistic.PartitionedParcelStatisticCalculator;
 import com.example.demo.util.CommonGenerator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "parcel.service", histogram = true)
 public class ParcelServiceImpl implements ParcelService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     private final ParcelRepository parcelRepository;
     private final CommonGenerator generator;
-    private final DefaultDeliveryPriceCalculator defaultDeliveryPriceCalculator;
-    private final ExpressDeliveryPriceCalculator expressDeliveryPriceCalculator;
-    private final EconomDeliveryPriceCalculator economDeliveryPriceCalculator;
+    private final PriceCalculatorRegistry priceCalculatorRegistry;
+    private final ParcelCursorCodec cursorCodec;
+    private final ParcelProperties properties;
+    private final ParcelLookupCache lookupCache;
+    private final ParcelStatisticCache statisticCache;
+    private final PartitionedParcelStatisticCalculator statisticCalculator;
+    private final ParcelRollupStatisticCalculator rollupStatisticCalculator;
+    private final ApproximateParcelStatisticCalculator approximateStatisticCalculator;
+    private final ParcelStatisticJobRunner statisticJobRunner;
+    private final ParcelGroupCommitter groupCommitter;
+    private final ParcelStatusChangeStream statusChangeStream;
+    private final ParcelColumnarIndex columnarIndex;
     private final ComponentForProduceCycleDependency componentForProduceCycleDependency;
 
     @Override
     public Parcel getByTrackingNumber(String trackingNumber) {
-        return parcelRepository.findByTrackingNumber(trackingNumber).orElseThrow(
+        Optional<Parcel> cached = lookupCache.get(trackingNumber);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        ReadReplicaRouting.consumeReplicaRead();
+        Parcel parcel = parcelRepository.findByTrackingNumber(trackingNumber).orElseThrow(
                 () -> new NotFoundException("Parcel with tracking number " + trackingNumber + " not found"));
+        // A parcel read from a lagging replica is returned but not cached
+        if (!ReadReplicaRouting.consumeReplicaRead()) {
+            lookupCache.put(parcel);
+        }
+        return parcel;
     }
 
+    // Not transactional, so the columnar path opens no transaction; the repository opens a read-only one
     @Override
     public Page<Parcel> findAll(ParcelSearchParams params, Pageable pageable) {
-        // TODO implement search
-        return new PageImpl<>(List.of());
+        if (columnarIndex.isReady() && columnarIndex.supports(pageable.getSort())) {
+            return columnarIndex.findAll(params, pageable);
+        }
+        return parcelRepository.findAll(ParcelSpecifications.bySearchParams(params), pageable);
+    }
+
+    @Override
+    public Page<ParcelView> findAllViews(ParcelSearchParams params, Pageable pageable) {
+        if (columnarIndex.isReady() && columnarIndex.supports(pageable.getSort())) {
+            return columnarIndex.findAllViews(params, pageable);
+        }
+        return parcelRepository.findAllViews(ParcelSpecifications.bySearchParams(params), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ParcelCursorPage findAll(ParcelSearchParams params, String cursor, int size, Sort sort) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        ParcelCursor position = cursor == null || cursor.isBlank()
+                ? cursorCodec.first(sort)
+                : cursorCodec.decode(cursor);
+
+        Window<Parcel> window = parcelRepository.findBy(ParcelSpecifications.bySearchParams(params),
+                query -> query.sortBy(position.sort()).limit(size).scroll(position.position()));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = cursorCodec.encode(new ParcelCursor(position.sort(), last));
+        }
+        return ParcelCursorPage.builder()
+                .content(window.getContent())
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(ParcelSearchParams params, Consumer<Parcel> consumer) {
+        int fetchSize = properties.getExport().getFetchSize();
+        try (Stream<Parcel> parcels = parcelRepository.streamAll(ParcelSpecifications.bySearchParams(params), fetchSize)) {
+            parcels.forEach(consumer);
+        }
     }
 
     @Override
     public ParcelStatistic buildStatistic(ParcelSearchParams params) {
-        // TODO implement building of statistic
-        return new ParcelStatistic();
+        if (rollupStatisticCalculator.supports(params)) {
+            return rollupStatisticCalculator.calculate(params);
+        }
+        if (columnarIndex.isReady()) {
+            return columnarIndex.statistic(params);
+        }
+        return statisticCache.get(params, statisticCalculator::calculate);
+    }
+
+    @Override
+    public ApproximateParcelStatistic buildApproximateStatistic(ParcelSearchParams params, Double samplePercent) {
+        double percent = samplePercent != null
+                ? samplePercent
+                : properties.getStatistic().getApproximate().getDefaultSamplePercent();
+        if (!(percent > 0 && percent <= 100)) {
+            throw new BadRequestException("Sample percent must be greater than 0 and at most 100");
+        }
+        return approximateStatisticCalculator.calculate(params, percent);
+    }
+
+    @Override
+    public ParcelStatisticJob submitStatisticJob(ParcelSearchParams params) {
+        return statisticJobRunner.submit(params);
+    }
+
+    @Override
+    public ParcelStatisticJob getStatisticJob(String id) {
+        return statisticJobRunner.find(id)
+                .orElseThrow(() -> new NotFoundException("Statistic job not found: " + id));
     }
 
     @Override
     public Parcel create(CreateParcelRequest request) {
+        // Not transactional itself: with group commit the insert runs in a shared transaction on another thread
+        Parcel parcel = groupCommitter.insert(buildParcel(request));
+        columnarIndex.created(parcel);
+        lookupCache.put(parcel);
+        return parcel;
+    }
+
+    @Override
+    @Transactional
+    public List<Parcel> createAll(List<CreateParcelRequest> requests) {
+        int maxSize = properties.getBatch().getMaxSize();
+        if (requests.size() > maxSize) {
+            throw new BadRequestException("Batch size must not exceed " + maxSize);
+        }
+        List<Parcel> parcels = new ArrayList<>(requests.size());
+        for (CreateParcelRequest request : requests) {
+            parcels.add(buildParcel(request));
+        }
+        parcelRepository.insertAll(parcels);
+        statisticCache.markModified();
+        columnarIndex.created(parcels);
+        return parcels;
+    }
+
+    private Parcel buildParcel(CreateParcelRequest request) {
         Parcel parcel = new Parcel();
         parcel.setTrackingNumber(generator.uuid());
         parcel.setSender(request.getSender());
@@ -60,31 +212,106 @@ public class ParcelServiceImpl implements ParcelService {
         parcel.setWeight(request.getWeight());
         parcel.setStatus(ParcelStatus.CREATED);
         parcel.setDeliveryType(request.getDeliveryType());
-
-        if (request.getDeliveryType() == DeliveryType.ECONOM) {
-            parcel.setPrice(economDeliveryPriceCalculator.calculatePrice(request));
-        } else if (request.getDeliveryType() == DeliveryType.EXPRESS) {
-            parcel.setPrice(expressDeliveryPriceCalculator.calculatePrice(request));
-        } else if (request.getDeliveryType() == DeliveryType.DEFAULT) {
-            parcel.setPrice(defaultDeliveryPriceCalculator.calculatePrice(request));
-        } else {
-            throw new NotFoundException();
-        }
-
+        parcel.setPrice(priceCalculatorRegistry.calculatePrice(request));
         return parcel;
     }
 
     @Override
+    @Transactional
     public Parcel updateStatus(String trackingNumber, ParcelStatus status) {
-        Parcel parcel = getByTrackingNumber(trackingNumber);
-        parcel.setStatus(status);
-        save(parcel);
-        return getByTrackingNumber(trackingNumber);
+        return doUpdateStatus(trackingNumber, status, null);
     }
 
+    @Override
     @Transactional
-    public Parcel save(Parcel parcel) {
-        return parcelRepository.save(parcel);
+    public Parcel updateStatus(String trackingNumber, ParcelStatus status, Long expectedVersion) {
+        return doUpdateStatus(trackingNumber, status, expectedVersion);
+    }
+
+    private Parcel doUpdateStatus(String trackingNumber, ParcelStatus status, Long expectedVersion) {
+        if (status == null) {
+            throw new BadRequestException("Status is missing for parcel " + trackingNumber);
+        }
+        Optional<Parcel> updated = parcelRepository.updateStatus(trackingNumber, status, expectedVersion);
+        if (updated.isPresent()) {
+            statisticCache.markModified();
+            statusChangeStream.publish(updated.get());
+            columnarIndex.statusChanged(updated.get());
+            lookupCache.put(updated.get());
+            return updated.get();
+        }
+        // The extra lookup only happens on the failure path, to tell a stale version from a missing parcel
+        if (expectedVersion != null && parcelRepository.existsByTrackingNumber(trackingNumber)) {
+            throw new ConflictException("Parcel with tracking number " + trackingNumber
+                    + " was modified concurrently, expected version " + expectedVersion);
+        }
+        throw new NotFoundException("Parcel with tracking number " + trackingNumber + " not found");
+    }
+
+    @Override
+    @Transactional
+    public List<BulkUpdateParcelStatusResult> updateStatuses(BulkUpdateParcelStatusRequest request) {
+        List<ParcelStatusUpdate> updates = toStatusUpdates(request);
+        Map<String, BulkUpdateParcelStatusResult> results = new HashMap<>();
+        // Chunks are applied in tracking number order, the same order the rows are locked in within a chunk
+        List<ParcelStatusUpdate> ordered = updates.stream()
+                .sorted(Comparator.comparing(ParcelStatusUpdate::trackingNumber))
+                .toList();
+
+        int chunkSize = properties.getBatch().getStatusChunkSize();
+        for (int from = 0; from < ordered.size(); from += chunkSize) {
+            List<ParcelStatusUpdate> chunk = ordered.subList(from, Math.min(from + chunkSize, ordered.size()));
+            Map<String, UpdatedParcelStatus> updated = parcelRepository.updateStatuses(chunk);
+            List<String> missed = chunk.stream()
+                    .map(ParcelStatusUpdate::trackingNumber)
+                    .filter(trackingNumber -> !updated.containsKey(trackingNumber))
+                    .toList();
+            Set<String> existing = parcelRepository.findExistingTrackingNumbers(missed);
+
+            for (ParcelStatusUpdate update : chunk) {
+                String trackingNumber = update.trackingNumber();
+                UpdatedParcelStatus parcel = updated.get(trackingNumber);
+                Long version = parcel != null ? parcel.version() : null;
+                BulkUpdateParcelStatusResult.Outcome outcome;
+                if (parcel != null) {
+                    outcome = BulkUpdateParcelStatusResult.Outcome.UPDATED;
+                    statusChangeStream.publish(trackingNumber, parcel.sender(), parcel.recipient(), parcel.status(),
+                            parcel.version());
+                    columnarIndex.statusChanged(trackingNumber, update.status(), version);
+                    lookupCache.invalidate(trackingNumber, version);
+                } else if (existing.contains(trackingNumber)) {
+                    outcome = BulkUpdateParcelStatusResult.Outcome.CONFLICT;
+                } else {
+                    outcome = BulkUpdateParcelStatusResult.Outcome.NOT_FOUND;
+                }
+                results.put(trackingNumber, new BulkUpdateParcelStatusResult(trackingNumber, outcome, version));
+            }
+        }
+        statisticCache.markModified();
+        return updates.stream()
+                .map(update -> results.get(update.trackingNumber()))
+                .toList();
+    }
+
+    private List<ParcelStatusUpdate> toStatusUpdates(BulkUpdateParcelStatusRequest request) {
+        List<BulkUpdateParcelStatusRequest.Item> items = request.getItems() == null ? List.of() : request.getItems();
+        int maxSize = properties.getBatch().getMaxSize();
+        if (items.size() > maxSize) {
+            throw new BadRequestException("Batch size must not exceed " + maxSize);
+        }
+        Set<String> trackingNumbers = new HashSet<>();
+        List<ParcelStatusUpdate> updates = new ArrayList<>(items.size());
+        for (BulkUpdateParcelStatusRequest.Item item : items) {
+            if (item.getTrackingNumber() == null || !trackingNumbers.add(item.getTrackingNumber())) {
+                throw new BadRequestException("Tracking numbers must be present and unique, got " + item.getTrackingNumber());
+            }
+            ParcelStatus status = item.getStatus() != null ? item.getStatus() : request.getStatus();
+            if (status == null) {
+                throw new BadRequestException("Status is missing for parcel " + item.getTrackingNumber());
+            }
+            updates.add(new ParcelStatusUpdate(item.getTrackingNumber(), status, item.getVersion()));
+        }
+        return updates;
     }
 
     public void methodForTrick() {
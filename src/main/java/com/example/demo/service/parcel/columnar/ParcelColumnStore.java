@@ -0,0 +1,430 @@
+package com.example.demo.service.parcel.columnar;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.dto.TextMatchMode;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * In-memory columnar copy of the parcel table. Weight and price are primitive columns with sorted indexes for
+ * range predicates, status and delivery type are byte-coded with one bitmap per value, and text columns are
+ * scanned only for rows that passed the other filters.
+ * <p>
+ * Only status and version of a row ever change, so sorted indexes stay valid for the rows they cover; rows
+ * appended since the last rebuild are checked one by one, and the indexes are rebuilt once that tail grows past
+ * the reindex threshold, on a background thread so the query that noticed it is not held up by the sort. Writes
+ * take the write lock and queries the read lock.
+ * <p>
+ * Only numeric columns can be sorted here. Text and enum columns are sorted by the database, whose collation does
+ * not order strings the way {@link String#compareTo} does.
+ */
+public class ParcelColumnStore {
+
+    private static final ParcelStatus[] STATUSES = ParcelStatus.values();
+    private static final DeliveryType[] DELIVERY_TYPES = DeliveryType.values();
+    private static final int INITIAL_CAPACITY = 1_024;
+    private static final Set<String> SORT_PROPERTIES = Set.of(Parcel.Fields.id, Parcel.Fields.weight,
+            Parcel.Fields.price, Parcel.Fields.version);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+    private final int reindexThreshold;
+
+    private int size;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private String[] trackingNumbers = new String[INITIAL_CAPACITY];
+    private String[] senders = new String[INITIAL_CAPACITY];
+    private String[] recipients = new String[INITIAL_CAPACITY];
+    private double[] weights = new double[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private byte[] deliveryTypes = new byte[INITIAL_CAPACITY];
+    private final BitSet[] rowsByStatus = bitmaps(STATUSES.length);
+    private final BitSet[] rowsByDeliveryType = bitmaps(DELIVERY_TYPES.length);
+    private final Map<String, Integer> rowsByTrackingNumber = new HashMap<>();
+    private volatile SortedColumn weightIndex = SortedColumn.EMPTY;
+    private volatile SortedColumn priceIndex = SortedColumn.EMPTY;
+
+    public ParcelColumnStore(int reindexThreshold) {
+        this.reindexThreshold = reindexThreshold;
+    }
+
+    /**
+     * Appends the parcel, or applies its status if a row with the same tracking number and an older version exists.
+     */
+    public void upsert(Parcel parcel) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsByTrackingNumber.get(parcel.getTrackingNumber());
+            if (row != null) {
+                applyStatus(row, parcel.getStatus(), parcel.getVersion());
+                return;
+            }
+            ensureCapacity(size + 1);
+            ids[size] = parcel.getId();
+            versions[size] = parcel.getVersion();
+            trackingNumbers[size] = parcel.getTrackingNumber();
+            senders[size] = parcel.getSender();
+            recipients[size] = parcel.getRecipient();
+            weights[size] = parcel.getWeight();
+            prices[size] = parcel.getPrice();
+            statuses[size] = (byte) parcel.getStatus().ordinal();
+            deliveryTypes[size] = (byte) parcel.getDeliveryType().ordinal();
+            rowsByStatus[parcel.getStatus().ordinal()].set(size);
+            rowsByDeliveryType[parcel.getDeliveryType().ordinal()].set(size);
+            rowsByTrackingNumber.put(parcel.getTrackingNumber(), size);
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a status change unless the row already has a newer version.
+     *
+     * @return {@code false} if no row has this tracking number
+     */
+    public boolean updateStatus(String trackingNumber, ParcelStatus status, long version) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsByTrackingNumber.get(trackingNumber);
+            if (row == null) {
+                return false;
+            }
+            applyStatus(row, status, version);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the sorted weight and price indexes over all current rows. The columns are copied under the read
+     * lock and sorted outside of it, so writers are not held up by the sort.
+     */
+    public void reindex() {
+        double[] weightSnapshot;
+        double[] priceSnapshot;
+        lock.readLock().lock();
+        try {
+            weightSnapshot = Arrays.copyOf(weights, size);
+            priceSnapshot = Arrays.copyOf(prices, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        weightIndex = SortedColumn.build(weightSnapshot);
+        priceIndex = SortedColumn.build(priceSnapshot);
+    }
+
+    /**
+     * Whether every order of {@code sort} is on a column this store can sort.
+     */
+    public boolean supports(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORT_PROPERTIES.contains(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public ParcelStatistic statistic(ParcelSearchParams params) {
+        reindexIfNeeded();
+        lock.readLock().lock();
+        try {
+            BitSet rows = select(params);
+            long count = 0;
+            double weightSum = 0;
+            double priceSum = 0;
+            long[] countByStatus = new long[STATUSES.length];
+            long[] countByDeliveryType = new long[DELIVERY_TYPES.length];
+            int mostExpensive = -1;
+            int cheapest = -1;
+            int heaviest = -1;
+            int lightest = -1;
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                count++;
+                weightSum += weights[row];
+                priceSum += prices[row];
+                countByStatus[statuses[row]]++;
+                countByDeliveryType[deliveryTypes[row]]++;
+                // Ties go to the lowest id, same as the database path
+                if (mostExpensive < 0 || isBefore(prices[row], prices[mostExpensive], true, row, mostExpensive)) {
+                    mostExpensive = row;
+                }
+                if (cheapest < 0 || isBefore(prices[row], prices[cheapest], false, row, cheapest)) {
+                    cheapest = row;
+                }
+                if (heaviest < 0 || isBefore(weights[row], weights[heaviest], true, row, heaviest)) {
+                    heaviest = row;
+                }
+                if (lightest < 0 || isBefore(weights[row], weights[lightest], false, row, lightest)) {
+                    lightest = row;
+                }
+            }
+            Map<ParcelStatus, Long> byStatus = new EnumMap<>(ParcelStatus.class);
+            for (ParcelStatus status : STATUSES) {
+                byStatus.put(status, countByStatus[status.ordinal()]);
+            }
+            Map<DeliveryType, Long> byDeliveryType = new EnumMap<>(DeliveryType.class);
+            for (DeliveryType deliveryType : DELIVERY_TYPES) {
+                byDeliveryType.put(deliveryType, countByDeliveryType[deliveryType.ordinal()]);
+            }
+            return ParcelStatistic.builder()
+                    .totalParcels(count)
+                    .averageWeight(count == 0 ? 0 : weightSum / count)
+                    .averagePrice(count == 0 ? 0 : priceSum / count)
+                    .parcelsCountByStatus(byStatus)
+                    .parcelsCountByDeliveryType(byDeliveryType)
+                    .mostExpensiveParcel(mostExpensive < 0 ? null : parcel(mostExpensive))
+                    .cheapestParcel(cheapest < 0 ? null : parcel(cheapest))
+                    .heaviestParcel(heaviest < 0 ? null : parcel(heaviest))
+                    .lightestParcel(lightest < 0 ? null : parcel(lightest))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Page<Parcel> findAll(ParcelSearchParams params, Pageable pageable) {
+        return page(params, pageable, this::parcel);
+    }
+
+    public Page<ParcelView> findAllViews(ParcelSearchParams params, Pageable pageable) {
+        return page(params, pageable, this::view);
+    }
+
+    private <T> Page<T> page(ParcelSearchParams params, Pageable pageable, IntFunction<T> mapper) {
+        reindexIfNeeded();
+        lock.readLock().lock();
+        try {
+            BitSet rows = select(params);
+            int total = rows.cardinality();
+            Comparator<Integer> order = comparator(pageable.getSort());
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            int limit = pageable.isPaged() ? (int) Math.min(total, offset + pageable.getPageSize()) : total;
+            if (offset >= limit) {
+                return new PageImpl<>(List.of(), pageable, total);
+            }
+            // Keep only the first offset + size rows in order instead of sorting every match
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit, order.reversed());
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (top.size() < limit) {
+                    top.add(row);
+                } else if (order.compare(row, top.peek()) < 0) {
+                    top.poll();
+                    top.add(row);
+                }
+            }
+            Integer[] ordered = top.toArray(new Integer[0]);
+            Arrays.sort(ordered, order);
+            List<T> content = new ArrayList<>(limit - (int) offset);
+            for (int i = (int) offset; i < ordered.length; i++) {
+                content.add(mapper.apply(ordered[i]));
+            }
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet select(ParcelSearchParams params) {
+        BitSet rows = new BitSet(size);
+        rows.set(0, size);
+        if (params == null) {
+            return rows;
+        }
+        if (params.getFromWeight() != null || params.getToWeight() != null) {
+            rows.and(range(weightIndex, weights, params.getFromWeight(), params.getToWeight()));
+        }
+        if (params.getFromPrice() != null || params.getToPrice() != null) {
+            rows.and(range(priceIndex, prices, params.getFromPrice(), params.getToPrice()));
+        }
+        andAny(rows, rowsByStatus, params.getStatuses());
+        andAny(rows, rowsByDeliveryType, params.getDeliveryTypes());
+
+        String trackingNumber = text(params.getTrackingNumber());
+        boolean prefix = params.getTrackingNumberMatch() == TextMatchMode.PREFIX;
+        String sender = text(params.getSender());
+        String recipient = text(params.getRecipient());
+        if (trackingNumber == null && sender == null && recipient == null) {
+            return rows;
+        }
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            boolean matches = (trackingNumber == null || (prefix
+                    ? trackingNumbers[row].regionMatches(true, 0, trackingNumber, 0, trackingNumber.length())
+                    : containsIgnoreCase(trackingNumbers[row], trackingNumber)))
+                    && (sender == null || containsIgnoreCase(senders[row], sender))
+                    && (recipient == null || containsIgnoreCase(recipients[row], recipient));
+            if (!matches) {
+                rows.clear(row);
+            }
+        }
+        return rows;
+    }
+
+    private BitSet range(SortedColumn index, double[] column, Double from, Double to) {
+        BitSet rows = new BitSet(size);
+        index.select(from, to, rows);
+        for (int row = index.coveredRows(); row < size; row++) {
+            if ((from == null || column[row] >= from) && (to == null || column[row] <= to)) {
+                rows.set(row);
+            }
+        }
+        return rows;
+    }
+
+    private static <E extends Enum<E>> void andAny(BitSet rows, BitSet[] bitmaps, Collection<E> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        BitSet any = new BitSet();
+        for (E value : values) {
+            if (value != null) {
+                any.or(bitmaps[value.ordinal()]);
+            }
+        }
+        rows.and(any);
+    }
+
+    private Comparator<Integer> comparator(Sort sort) {
+        Comparator<Integer> byId = Comparator.comparingLong(row -> ids[row]);
+        Comparator<Integer> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<Integer> byProperty = switch (order.getProperty()) {
+                case Parcel.Fields.id -> byId;
+                case Parcel.Fields.weight -> Comparator.comparingDouble(row -> weights[row]);
+                case Parcel.Fields.price -> Comparator.comparingDouble(row -> prices[row]);
+                case Parcel.Fields.version -> Comparator.comparingLong(row -> versions[row]);
+                default -> throw new BadRequestException("Unsupported sort property: " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                byProperty = byProperty.reversed();
+            }
+            result = result == null ? byProperty : result.thenComparing(byProperty);
+        }
+        return result == null ? byId : result.thenComparing(byId);
+    }
+
+    private boolean isBefore(double candidateKey, double currentKey, boolean descending, int candidate, int current) {
+        int compared = descending ? Double.compare(currentKey, candidateKey) : Double.compare(candidateKey, currentKey);
+        return compared < 0 || compared == 0 && ids[candidate] < ids[current];
+    }
+
+    private void applyStatus(int row, ParcelStatus status, long version) {
+        if (version <= versions[row]) {
+            return;
+        }
+        rowsByStatus[statuses[row]].clear(row);
+        rowsByStatus[status.ordinal()].set(row);
+        statuses[row] = (byte) status.ordinal();
+        versions[row] = version;
+    }
+
+    private void reindexIfNeeded() {
+        SortedColumn index = weightIndex;
+        if (size() - index.coveredRows() > reindexThreshold && reindexing.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("parcel-columnar-reindex").start(() -> {
+                try {
+                    reindex();
+                } finally {
+                    reindexing.set(false);
+                }
+            });
+        }
+    }
+
+    private Parcel parcel(int row) {
+        return Parcel.builder()
+                .id(ids[row])
+                .trackingNumber(trackingNumbers[row])
+                .sender(senders[row])
+                .recipient(recipients[row])
+                .weight(weights[row])
+                .price(prices[row])
+                .status(STATUSES[statuses[row]])
+                .deliveryType(DELIVERY_TYPES[deliveryTypes[row]])
+                .version(versions[row])
+                .build();
+    }
+
+    private ParcelView view(int row) {
+        return new ParcelView(ids[row], trackingNumbers[row], senders[row], recipients[row], weights[row],
+                prices[row], STATUSES[statuses[row]], DELIVERY_TYPES[deliveryTypes[row]], versions[row]);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, grown);
+        versions = Arrays.copyOf(versions, grown);
+        trackingNumbers = Arrays.copyOf(trackingNumbers, grown);
+        senders = Arrays.copyOf(senders, grown);
+        recipients = Arrays.copyOf(recipients, grown);
+        weights = Arrays.copyOf(weights, grown);
+        prices = Arrays.copyOf(prices, grown);
+        statuses = Arrays.copyOf(statuses, grown);
+        deliveryTypes = Arrays.copyOf(deliveryTypes, grown);
+    }
+
+    private static String text(String value) {
+        return value == null || value.isBlank() ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    // Expects a lower-cased part; the first character is checked cheaply before comparing the rest
+    private static boolean containsIgnoreCase(String value, String part) {
+        char first = part.charAt(0);
+        int rest = part.length() - 1;
+        for (int i = 0; i <= value.length() - part.length(); i++) {
+            char c = value.charAt(i);
+            if ((c == first || Character.toLowerCase(c) == first) && value.regionMatches(true, i + 1, part, 1, rest)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BitSet[] bitmaps(int count) {
+        BitSet[] bitmaps = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new BitSet();
+        }
+        return bitmaps;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.demo.service.parcel.columnar;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.config.ReadReplicaRouting;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.repository.ParcelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process {@link ParcelColumnStore} answering searches and statistics without the database.
+ * It is loaded from the database on a background thread after startup and then follows committed creates and
+ * status changes made through this instance. Until loading completes, {@link #isReady()} is {@code false} and
+ * callers use the database.
+ * <p>
+ * Writes by other application instances are not seen, so enable it only where this instance is the sole writer.
+ */
+@Slf4j
+@Component
+public class ParcelColumnarIndex {
+
+    private final ParcelRepository parcelRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ParcelProperties properties;
+    private final boolean enabled;
+    private final ParcelColumnStore store;
+    // Status changes for rows the initial load has not reached yet, applied when it finishes
+    private final Map<String, PendingStatus> pendingStatuses = new HashMap<>();
+    private volatile boolean ready;
+
+    @Autowired
+    public ParcelColumnarIndex(ParcelRepository parcelRepository,
+                               PlatformTransactionManager transactionManager,
+                               ParcelProperties properties,
+                               MeterRegistry meterRegistry) {
+        this(parcelRepository, transactionManager, properties, meterRegistry,
+                new ParcelColumnStore(properties.getColumnar().getReindexThreshold()));
+    }
+
+    ParcelColumnarIndex(ParcelRepository parcelRepository,
+                        PlatformTransactionManager transactionManager,
+                        ParcelProperties properties,
+                        MeterRegistry meterRegistry,
+                        ParcelColumnStore store) {
+        this.parcelRepository = parcelRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.enabled = properties.getColumnar().isEnabled();
+        this.store = store;
+        if (enabled) {
+            meterRegistry.gauge("parcel.columnar.rows", store, ParcelColumnStore::size);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether pages in this order can be served from the index; see {@link ParcelColumnStore#supports(Sort)}.
+     */
+    public boolean supports(Sort sort) {
+        return store.supports(sort);
+    }
+
+    public ParcelStatistic statistic(ParcelSearchParams params) {
+        return store.statistic(params);
+    }
+
+    public Page<Parcel> findAll(ParcelSearchParams params, Pageable pageable) {
+        return store.findAll(params, pageable);
+    }
+
+    public Page<ParcelView> findAllViews(ParcelSearchParams params, Pageable pageable) {
+        return store.findAllViews(params, pageable);
+    }
+
+    public void created(Parcel parcel) {
+        created(List.of(parcel));
+    }
+
+    public void created(List<Parcel> parcels) {
+        if (enabled) {
+            afterCommit(() -> parcels.forEach(store::upsert));
+        }
+    }
+
+    public void statusChanged(Parcel parcel) {
+        statusChanged(parcel.getTrackingNumber(), parcel.getStatus(), parcel.getVersion());
+    }
+
+    public void statusChanged(String trackingNumber, ParcelStatus status, long version) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            if (store.updateStatus(trackingNumber, status, version)) {
+                return;
+            }
+            synchronized (pendingStatuses) {
+                if (ready) {
+                    // The load reached the row after the miss above, so it may hold the status from before
+                    store.updateStatus(trackingNumber, status, version);
+                } else {
+                    pendingStatuses.merge(trackingNumber, new PendingStatus(status, version),
+                            (current, next) -> next.version() > current.version() ? next : current);
+                }
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            Thread.ofVirtual().name("parcel-columnar-load").start(this::loadFromDatabase);
+        }
+    }
+
+    private void loadFromDatabase() {
+        long started = System.nanoTime();
+        // A lagging replica could miss writes that were already applied to the index while it loads
+        ReadReplicaRouting.begin(true);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                int fetchSize = properties.getExport().getFetchSize();
+                try (Stream<Parcel> parcels = parcelRepository.streamAll(Specification.where(null), fetchSize)) {
+                    parcels.forEach(store::upsert);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Loading the columnar parcel index failed, searches keep using the database", e);
+            return;
+        } finally {
+            ReadReplicaRouting.end();
+        }
+        synchronized (pendingStatuses) {
+            pendingStatuses.forEach((trackingNumber, pending) ->
+                    store.updateStatus(trackingNumber, pending.status(), pending.version()));
+            pendingStatuses.clear();
+            store.reindex();
+            ready = true;
+        }
+        log.info("Loaded {} parcels into the columnar index in {} ms",
+                store.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record PendingStatus(ParcelStatus status, long version) {
+    }
+}
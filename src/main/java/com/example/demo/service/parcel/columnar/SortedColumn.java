@@ -0,0 +1,122 @@
+package com.example.demo.service.parcel.columnar;
+
+import java.util.BitSet;
+
+/**
+ * Row numbers ordered by a {@code double} column, for range predicates. Covers the rows that existed when it
+ * was built; newer rows are checked one by one until the next rebuild.
+ */
+final class SortedColumn {
+
+    static final SortedColumn EMPTY = new SortedColumn(new double[0], new int[0]);
+
+    private final double[] keys;
+    private final int[] rows;
+
+    private SortedColumn(double[] keys, int[] rows) {
+        this.keys = keys;
+        this.rows = rows;
+    }
+
+    /**
+     * Sorts {@code keys} in place; the key at index {@code i} belongs to row {@code i}.
+     */
+    static SortedColumn build(double[] keys) {
+        int size = keys.length;
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        sort(keys, rows, 0, size - 1);
+        return new SortedColumn(keys, rows);
+    }
+
+    int coveredRows() {
+        return rows.length;
+    }
+
+    /**
+     * Sets the bits of covered rows whose key lies within the bounds; a {@code null} bound is open.
+     */
+    void select(Double from, Double to, BitSet result) {
+        int start = from == null ? 0 : lowerBound(from);
+        int end = to == null ? keys.length : upperBound(to);
+        for (int i = start; i < end; i++) {
+            result.set(rows[i]);
+        }
+    }
+
+    private int lowerBound(double key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(double key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Quicksort of keys carrying rows along, so no boxing is needed for millions of rows
+    private static void sort(double[] keys, int[] rows, int low, int high) {
+        while (high - low > 16) {
+            double pivot = median(keys[low], keys[(low + high) >>> 1], keys[high]);
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(keys, rows, i++, j--);
+                }
+            }
+            // Recurse into the smaller side to bound the stack depth
+            if (j - low < high - i) {
+                sort(keys, rows, low, j);
+                low = i;
+            } else {
+                sort(keys, rows, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && keys[j - 1] > keys[j]; j--) {
+                swap(keys, rows, j, j - 1);
+            }
+        }
+    }
+
+    private static double median(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static void swap(double[] keys, int[] rows, int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        int row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.demo.service.parcel.create;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.model.Parcel;
+import com.example.demo.repository.ParcelRepository;
+import com.example.demo.service.parcel.statistic.ParcelStatisticCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Inserts new parcels. In group-commit mode inserts from concurrent callers are queued and written by a single
+ * flusher thread as one transaction once {@code max-batch-size} parcels are queued or {@code max-delay} has
+ * passed since the first of them. Each caller returns only after its batch has committed.
+ * <p>
+ * If a batch fails, its parcels are retried one transaction each so only the offending callers see the error.
+ * Callers that already run in a transaction insert directly, so they keep reading their own writes.
+ * <p>
+ * Callers wait at most {@code commit-timeout} for a queue slot and again for the commit. Parcels still queued
+ * when the flusher stops, because of shutdown or an unexpected error, fail instead of waiting for ever.
+ */
+@Slf4j
+@Component
+public class ParcelGroupCommitter {
+
+    private final ParcelRepository parcelRepository;
+    private final ParcelStatisticCache statisticCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long commitTimeoutNanos;
+    private final BlockingQueue<PendingParcel> queue;
+    private final DistributionSummary batchSizes;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public ParcelGroupCommitter(ParcelRepository parcelRepository,
+                                ParcelStatisticCache statisticCache,
+                                PlatformTransactionManager transactionManager,
+                                ParcelProperties properties,
+                                MeterRegistry meterRegistry) {
+        ParcelProperties.GroupCommit config = properties.getGroupCommit();
+        this.parcelRepository = parcelRepository;
+        this.statisticCache = statisticCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = config.isEnabled();
+        this.maxBatchSize = config.getMaxBatchSize();
+        this.maxDelayNanos = config.getMaxDelay().toNanos();
+        this.commitTimeoutNanos = config.getCommitTimeout().toNanos();
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.batchSizes = DistributionSummary.builder("parcel.group-commit.batch.size")
+                .description("Parcels written per group-commit transaction")
+                .register(meterRegistry);
+        this.flusher = enabled ? Thread.ofPlatform().name("parcel-group-commit").daemon().start(this::flushLoop) : null;
+    }
+
+    public Parcel insert(Parcel parcel) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> save(parcel));
+        }
+        if (!running) {
+            throw new IllegalStateException("Parcel group commit is shut down");
+        }
+        PendingParcel pending = new PendingParcel(parcel, new CompletableFuture<>());
+        try {
+            if (!queue.offer(pending, commitTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException("Timed out queueing parcel for group commit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing parcel", e);
+        }
+        // A shutdown that began after the check above may have drained the queue already: take the parcel back.
+        // If it is gone, the flusher or the shutdown has it and completes it either way
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Parcel group commit is shut down");
+        }
+        return await(pending.committed());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        failQueued(new IllegalStateException("Parcel group commit is shut down"));
+    }
+
+    private void flushLoop() {
+        List<PendingParcel> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    collect(batch);
+                } catch (InterruptedException e) {
+                    // Shutting down: write whatever is already queued
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+                if (!batch.isEmpty()) {
+                    flushSafely(batch);
+                    batch.clear();
+                }
+            }
+        } finally {
+            running = false;
+            IllegalStateException stopped = new IllegalStateException("Parcel group commit flusher stopped");
+            batch.forEach(pending -> pending.committed().completeExceptionally(stopped));
+            failQueued(stopped);
+        }
+    }
+
+    private void flushSafely(List<PendingParcel> batch) {
+        try {
+            flush(batch);
+        } catch (Throwable e) {
+            // Keep the flusher alive: fail this batch and carry on with the next one
+            log.error("Group commit of {} parcels failed", batch.size(), e);
+            batch.forEach(pending -> pending.committed().completeExceptionally(e));
+        }
+    }
+
+    private void failQueued(RuntimeException cause) {
+        List<PendingParcel> queued = new ArrayList<>();
+        queue.drainTo(queued);
+        queued.forEach(pending -> pending.committed().completeExceptionally(cause));
+    }
+
+    private void collect(List<PendingParcel> batch) throws InterruptedException {
+        PendingParcel first = queue.take();
+        batch.add(first);
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            PendingParcel next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingParcel> batch) {
+        batchSizes.record(batch.size());
+        List<Parcel> parcels = batch.stream().map(PendingParcel::parcel).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                parcelRepository.insertAll(parcels);
+                statisticCache.markModified();
+            });
+        } catch (RuntimeException batchFailure) {
+            batch.forEach(this::flushAlone);
+            return;
+        }
+        batch.forEach(pending -> pending.committed().complete(pending.parcel()));
+    }
+
+    private void flushAlone(PendingParcel pending) {
+        // The failed batch may already have assigned an id to this parcel
+        pending.parcel().setId(null);
+        try {
+            pending.committed().complete(transactionTemplate.execute(status -> save(pending.parcel())));
+        } catch (RuntimeException e) {
+            pending.committed().completeExceptionally(e);
+        }
+    }
+
+    private Parcel save(Parcel parcel) {
+        Parcel saved = parcelRepository.save(parcel);
+        statisticCache.markModified();
+        return saved;
+    }
+
+    private Parcel await(CompletableFuture<Parcel> committed) {
+        try {
+            return committed.get(commitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Parcel insert failed", e.getCause());
+        } catch (TimeoutException e) {
+            // The batch may still commit later, the caller only learns that it did not in time
+            throw new IllegalStateException("Timed out waiting for parcel group commit", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for parcel group commit", e);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Parcel insert was cancelled", e);
+        }
+    }
+
+    private record PendingParcel(Parcel parcel, CompletableFuture<Parcel> committed) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.demo.service.parcel.cursor;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+
+public record ParcelCursor(Sort sort, KeysetScrollPosition position) {
+}
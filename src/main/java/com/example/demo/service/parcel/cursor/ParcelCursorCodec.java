@@ -0,0 +1,99 @@
+package com.example.demo.service.parcel.cursor;
+
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.model.Parcel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes keyset positions into opaque, URL-safe continuation tokens. The token carries the sort it was
+ * produced for, so following pages keep the ordering of the first one.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParcelCursorCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public ParcelCursor first(Sort sort) {
+        return new ParcelCursor(withTieBreaker(sort), ScrollPosition.keyset());
+    }
+
+    public String encode(ParcelCursor cursor) {
+        List<String> sort = cursor.sort().stream()
+                .map(order -> order.getProperty() + "," + order.getDirection())
+                .toList();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new Token(sort, cursor.position().getKeys()));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode cursor", e);
+        }
+    }
+
+    public ParcelCursor decode(String cursor) {
+        Token token;
+        try {
+            token = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), Token.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+        if (token.sort() == null || token.keys() == null) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        List<Sort.Order> orders = token.sort().stream()
+                .map(ParcelCursorCodec::parseOrder)
+                .toList();
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : orders) {
+            String property = order.getProperty();
+            if (!token.keys().containsKey(property)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            keys.put(property, objectMapper.convertValue(token.keys().get(property), propertyType(property)));
+        }
+        return new ParcelCursor(Sort.by(orders), ScrollPosition.forward(keys));
+    }
+
+    private static Sort withTieBreaker(Sort sort) {
+        sort.forEach(order -> propertyType(order.getProperty()));
+        if (sort.getOrderFor(Parcel.Fields.id) != null) {
+            return sort;
+        }
+        return sort.and(Sort.by(Parcel.Fields.id));
+    }
+
+    private static Sort.Order parseOrder(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 2) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        propertyType(parts[0]);
+        Sort.Direction direction = Sort.Direction.fromOptionalString(parts[1])
+                .orElseThrow(() -> new BadRequestException("Invalid cursor"));
+        return new Sort.Order(direction, parts[0]);
+    }
+
+    private static Class<?> propertyType(String property) {
+        try {
+            return Parcel.class.getDeclaredField(property).getType();
+        } catch (NoSuchFieldException e) {
+            throw new BadRequestException("Unknown sort property " + property);
+        }
+    }
+
+    private record Token(List<String> sort, Map<String, Object> keys) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.service.parcel.event;
+
+import com.example.demo.dto.ParcelStatusChange;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size ring of the latest status changes. The slots are allocated up front and overwritten in place, so
+ * publishing allocates nothing. Writers claim a sequence and fill the slot it maps to, never waiting for readers to
+ * catch up; writers and readers hold a slot's monitor only while copying its fields. Readers keep their own cursor
+ * and detect that they were overtaken by comparing it with the sequence stored in the slot.
+ */
+public class ParcelStatusChangeBuffer {
+
+    /**
+     * Returned by {@link #read(long, ParcelStatusChangeFilter)} for a published change the filter rejects.
+     */
+    public static final ParcelStatusChange SKIPPED = new ParcelStatusChange(-1, null, null, null, null, -1, null);
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    public ParcelStatusChangeBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+    }
+
+    public long publish(Parcel parcel) {
+        return publish(parcel.getTrackingNumber(), parcel.getSender(), parcel.getRecipient(), parcel.getStatus(),
+                parcel.getVersion());
+    }
+
+    public long publish(String trackingNumber, String sender, String recipient, ParcelStatus status, long version) {
+        long sequence = nextSequence.getAndIncrement();
+        Slot slot = slots[(int) (sequence & mask)];
+        synchronized (slot) {
+            // A writer that lapped this one may have filled the slot with a later change already
+            if (slot.sequence < sequence) {
+                slot.sequence = sequence;
+                slot.trackingNumber = trackingNumber;
+                slot.sender = sender;
+                slot.recipient = recipient;
+                slot.status = status;
+                slot.version = version;
+                slot.changedAtMillis = System.currentTimeMillis();
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Returns a copy of the change at {@code sequence} if it matches {@code filter}, {@link #SKIPPED} if it does
+     * not, or {@code null} if it has not been published yet. Only matching changes are copied.
+     *
+     * @throws OverrunException if the change has already been overwritten
+     */
+    public ParcelStatusChange read(long sequence, ParcelStatusChangeFilter filter) {
+        if (nextSequence.get() - sequence > capacity()) {
+            throw new OverrunException(sequence);
+        }
+        Slot slot = slots[(int) (sequence & mask)];
+        synchronized (slot) {
+            if (slot.sequence < sequence) {
+                return null;
+            }
+            if (slot.sequence > sequence) {
+                throw new OverrunException(sequence);
+            }
+            if (!filter.matches(slot.trackingNumber, slot.sender, slot.recipient)) {
+                return SKIPPED;
+            }
+            return new ParcelStatusChange(sequence, slot.trackingNumber, slot.sender, slot.recipient, slot.status,
+                    slot.version, Instant.ofEpochMilli(slot.changedAtMillis));
+        }
+    }
+
+    public long nextSequence() {
+        return nextSequence.get();
+    }
+
+    /**
+     * Oldest sequence that may still be read.
+     */
+    public long oldestSequence() {
+        return Math.max(0, nextSequence.get() - capacity());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    private static class Slot {
+
+        private long sequence = -1;
+        private String trackingNumber;
+        private String sender;
+        private String recipient;
+        private ParcelStatus status;
+        private long version;
+        private long changedAtMillis;
+    }
+
+    public static class OverrunException extends RuntimeException {
+
+        public OverrunException(long sequence) {
+            super("Status change " + sequence + " was overwritten", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.service.parcel.event;
+
+import com.example.demo.dto.ParcelStatusChange;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Selects status changes for a subscriber. Tracking numbers match exactly, sender and recipient ignoring case.
+ * Empty criteria match everything.
+ */
+public record ParcelStatusChangeFilter(Set<String> trackingNumbers, String sender, String recipient) {
+
+    public static ParcelStatusChangeFilter of(Collection<String> trackingNumbers, String sender, String recipient) {
+        return new ParcelStatusChangeFilter(
+                trackingNumbers == null ? Set.of() : Set.copyOf(trackingNumbers),
+                sender == null || sender.isBlank() ? null : sender,
+                recipient == null || recipient.isBlank() ? null : recipient);
+    }
+
+    public boolean matches(ParcelStatusChange change) {
+        return matches(change.trackingNumber(), change.sender(), change.recipient());
+    }
+
+    public boolean matches(String trackingNumber, String sender, String recipient) {
+        return (trackingNumbers.isEmpty() || trackingNumbers.contains(trackingNumber))
+                && (this.sender == null || this.sender.equalsIgnoreCase(sender))
+                && (this.recipient == null || this.recipient.equalsIgnoreCase(recipient));
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.demo.service.parcel.event;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.dto.ParcelStatusChange;
+import com.example.demo.exception.TooManyRequestsException;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pushes committed status changes to SSE subscribers. Writers only append to a {@link ParcelStatusChangeBuffer}
+ * and unpark a single dispatcher thread, which in turn unparks the subscribers. Every subscriber reads the buffer
+ * on its own virtual thread, so a slow client only delays itself, and sleeps until woken or its next heartbeat is
+ * due. A subscriber that falls more than a buffer behind either skips to the oldest retained change, after a
+ * {@code dropped} event with the number of lost changes, or is disconnected, see
+ * {@link ParcelProperties.StatusChanges#getOverflow()}.
+ */
+@Component
+public class ParcelStatusChangeStream {
+
+    private final ParcelStatusChangeBuffer buffer;
+    private final ParcelProperties.StatusChanges config;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Semaphore subscriberPermits;
+    private final Counter dropped;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public ParcelStatusChangeStream(ParcelProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getStatusChanges();
+        this.buffer = new ParcelStatusChangeBuffer(config.getBufferSize());
+        this.subscriberPermits = new Semaphore(config.getMaxSubscribers());
+        this.dropped = meterRegistry.counter("parcel.status-changes.dropped");
+        meterRegistry.gaugeCollectionSize("parcel.status-changes.subscribers", Tags.empty(), subscribers);
+        this.dispatcher = Thread.ofPlatform().name("parcel-status-dispatcher").daemon().start(this::dispatch);
+    }
+
+    /**
+     * Publishes the new state of the parcel once the current transaction commits, or right away when there is none.
+     */
+    public void publish(Parcel parcel) {
+        publish(parcel.getTrackingNumber(), parcel.getSender(), parcel.getRecipient(), parcel.getStatus(),
+                parcel.getVersion());
+    }
+
+    /**
+     * Same as {@link #publish(Parcel)} for callers that only have the columns a change carries.
+     */
+    public void publish(String trackingNumber, String sender, String recipient, ParcelStatus status, long version) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(trackingNumber, sender, recipient, status, version);
+                }
+            });
+        } else {
+            append(trackingNumber, sender, recipient, status, version);
+        }
+    }
+
+    /**
+     * Opens a stream of changes matching the filter. With {@code lastEventId} the stream resumes after that change
+     * if it is still buffered, otherwise it starts with the next change.
+     */
+    public SseEmitter subscribe(ParcelStatusChangeFilter filter, Long lastEventId) {
+        // No timeout: a subscription lasts until the client goes away, which the heartbeats detect
+        return subscribe(filter, lastEventId, new SseEmitter(0L));
+    }
+
+    SseEmitter subscribe(ParcelStatusChangeFilter filter, Long lastEventId, SseEmitter emitter) {
+        if (!subscriberPermits.tryAcquire()) {
+            throw new TooManyRequestsException("Too many status change subscribers, retry later");
+        }
+        long start = lastEventId == null
+                ? buffer.nextSequence()
+                : Math.max(lastEventId + 1, buffer.oldestSequence());
+        Subscriber subscriber = new Subscriber(emitter, filter, start);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::stop);
+        emitter.onTimeout(subscriber::stop);
+        emitter.onError(e -> subscriber.stop());
+        Thread.ofVirtual().name("parcel-status-subscriber").start(subscriber::run);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void append(String trackingNumber, String sender, String recipient, ParcelStatus status, long version) {
+        buffer.publish(trackingNumber, sender, recipient, status, version);
+        LockSupport.unpark(dispatcher);
+    }
+
+    /**
+     * Wakes every subscriber after changes were appended. Appends that arrive while a round is running leave a park
+     * permit behind and are covered by one more round. A wake-up that reaches a subscriber while it is still
+     * draining is kept as its own permit, so no change waits for the next heartbeat.
+     */
+    private void dispatch() {
+        while (running) {
+            LockSupport.park(this);
+            subscribers.forEach(Subscriber::wake);
+        }
+    }
+
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ParcelStatusChangeFilter filter;
+        private final AtomicBoolean active = new AtomicBoolean(true);
+        private volatile Thread thread;
+        private long cursor;
+
+        private Subscriber(SseEmitter emitter, ParcelStatusChangeFilter filter, long cursor) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.cursor = cursor;
+        }
+
+        private void run() {
+            // Set before the first read, so every change appended after that read also wakes this thread
+            thread = Thread.currentThread();
+            long heartbeatNanos = config.getHeartbeatInterval().toNanos();
+            long lastSent = System.nanoTime();
+            try {
+                while (active.get()) {
+                    if (drain()) {
+                        lastSent = System.nanoTime();
+                        continue;
+                    }
+                    long untilHeartbeat = heartbeatNanos - (System.nanoTime() - lastSent);
+                    if (untilHeartbeat <= 0) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        lastSent = System.nanoTime();
+                    } else {
+                        LockSupport.parkNanos(this, untilHeartbeat);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter was completed
+                emitter.completeWithError(e);
+            } finally {
+                stop();
+            }
+        }
+
+        /**
+         * Sends every available change and returns whether anything was sent.
+         */
+        private boolean drain() throws IOException {
+            boolean sent = false;
+            while (active.get()) {
+                ParcelStatusChange change;
+                try {
+                    change = buffer.read(cursor, filter);
+                } catch (ParcelStatusChangeBuffer.OverrunException e) {
+                    if (config.getOverflow() == ParcelProperties.StatusChangeOverflow.DISCONNECT) {
+                        dropped.increment(buffer.nextSequence() - cursor);
+                        emitter.complete();
+                        stop();
+                        return sent;
+                    }
+                    // Skip a bit past the oldest retained change so the next read is not overrun right away
+                    long oldest = buffer.oldestSequence() + config.getBufferSize() / 4;
+                    dropped.increment(oldest - cursor);
+                    emitter.send(SseEmitter.event().name("dropped").data(oldest - cursor));
+                    cursor = oldest;
+                    sent = true;
+                    continue;
+                }
+                if (change == null) {
+                    return sent;
+                }
+                cursor++;
+                if (change != ParcelStatusChangeBuffer.SKIPPED) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.sequence()))
+                            .name("status")
+                            .data(change));
+                    sent = true;
+                }
+            }
+            return sent;
+        }
+
+        private void wake() {
+            Thread current = thread;
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+
+        private void stop() {
+            if (active.compareAndSet(true, false)) {
+                subscribers.remove(this);
+                subscriberPermits.release();
+                wake();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.service.parcel.export;
+
+import org.springframework.http.MediaType;
+
+public enum ParcelExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv")),
+    ;
+
+    private final MediaType mediaType;
+
+    ParcelExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
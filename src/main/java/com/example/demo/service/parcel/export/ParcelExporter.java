@@ -0,0 +1,88 @@
+package com.example.demo.service.parcel.export;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.model.Parcel;
+import com.example.demo.service.ParcelService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@Component
+@RequiredArgsConstructor
+public class ParcelExporter {
+
+    private static final String CSV_HEADER = "id,trackingNumber,sender,recipient,weight,price,status,deliveryType,version";
+
+    private final ParcelService parcelService;
+    private final ObjectMapper objectMapper;
+
+    public void export(ParcelSearchParams params, ParcelExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            switch (format) {
+                case NDJSON -> writeNdjson(params, writer);
+                case CSV -> writeCsv(params, writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(ParcelSearchParams params, Writer writer) {
+        ObjectWriter objectWriter = objectMapper.writerFor(Parcel.class);
+        parcelService.streamAll(params, parcel -> {
+            try {
+                writer.write(objectWriter.writeValueAsString(parcel));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeCsv(ParcelSearchParams params, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        parcelService.streamAll(params, parcel -> {
+            try {
+                writer.write(String.valueOf(parcel.getId()));
+                writer.write(',');
+                writer.write(csv(parcel.getTrackingNumber()));
+                writer.write(',');
+                writer.write(csv(parcel.getSender()));
+                writer.write(',');
+                writer.write(csv(parcel.getRecipient()));
+                writer.write(',');
+                writer.write(String.valueOf(parcel.getWeight()));
+                writer.write(',');
+                writer.write(String.valueOf(parcel.getPrice()));
+                writer.write(',');
+                writer.write(parcel.getStatus().name());
+                writer.write(',');
+                writer.write(parcel.getDeliveryType().name());
+                writer.write(',');
+                writer.write(String.valueOf(parcel.getVersion()));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demo.service.parcel.lookup;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.model.Parcel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Parcels by tracking number, kept as immutable snapshots and handed out as fresh entities.
+ * <p>
+ * Every entry carries the parcel version, and a snapshot only replaces an entry of a lower version. A lookup that
+ * read the row before a concurrent update committed therefore cannot overwrite the updated parcel. Invalidations
+ * leave the version behind, so such a lookup cannot bring the old row back either. Writes are applied once the
+ * current transaction commits, so a rolled back write never reaches the cache.
+ * <p>
+ * Caffeine evicts with W-TinyLFU, so frequently polled parcels survive bursts of one-off lookups.
+ */
+@Component
+public class ParcelLookupCache {
+
+    private final Cache<String, Entry> cache;
+
+    public ParcelLookupCache(ParcelProperties properties, MeterRegistry meterRegistry) {
+        ParcelProperties.CacheSpec config = properties.getCache().getTrackingNumber();
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .<String, Entry>build(), "parcelsByTrackingNumber");
+    }
+
+    public Optional<Parcel> get(String trackingNumber) {
+        Entry entry = cache.getIfPresent(trackingNumber);
+        return entry == null || entry.parcel() == null
+                ? Optional.empty()
+                : Optional.of(toParcel(entry.parcel()));
+    }
+
+    public void put(Parcel parcel) {
+        Entry entry = new Entry(parcel.getVersion(), new ParcelView(parcel.getId(), parcel.getTrackingNumber(),
+                parcel.getSender(), parcel.getRecipient(), parcel.getWeight(), parcel.getPrice(),
+                parcel.getStatus(), parcel.getDeliveryType(), parcel.getVersion()));
+        afterCommit(() -> cache.asMap().merge(parcel.getTrackingNumber(), entry, ParcelLookupCache::newer));
+    }
+
+    /**
+     * Drops the cached parcel and keeps snapshots below {@code version} out.
+     */
+    public void invalidate(String trackingNumber, long version) {
+        Entry entry = new Entry(version, null);
+        afterCommit(() -> cache.asMap().merge(trackingNumber, entry, ParcelLookupCache::newer));
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private static Entry newer(Entry cached, Entry entry) {
+        if (entry.version() > cached.version()) {
+            return entry;
+        }
+        return entry.version() == cached.version() && cached.parcel() == null ? entry : cached;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Parcel toParcel(ParcelView view) {
+        return new Parcel(view.id(), view.trackingNumber(), view.sender(), view.recipient(), view.weight(),
+                view.price(), view.status(), view.deliveryType(), view.version());
+    }
+
+    // A null parcel marks an invalidation at the given version
+    private record Entry(long version, ParcelView parcel) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.dto.ApproximateParcelStatistic;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.Percentiles;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.repository.ParcelRepository;
+import com.example.demo.repository.SampledParcelConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Estimates statistics from a row-level Bernoulli sample. Counts are scaled by the sampling fraction and their
+ * error bounds use the binomial variance of the sampled count, which holds because rows are drawn independently.
+ * A count with nothing sampled is bounded by the largest count that would leave the sample empty with at least
+ * the remaining probability, the exact form of the rule of three.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApproximateParcelStatisticCalculator {
+
+    private static final double CONFIDENCE_LEVEL = 0.95;
+    private static final double Z_95 = 1.959964;
+
+    private final ParcelRepository parcelRepository;
+    private final ParcelProperties properties;
+
+    @Transactional(readOnly = true)
+    public ApproximateParcelStatistic calculate(ParcelSearchParams params, double samplePercent) {
+        ParcelProperties.ApproximateStatistic config = properties.getStatistic().getApproximate();
+        Sample sample = new Sample(config.getRelativeAccuracy());
+        parcelRepository.sample(params, samplePercent, config.getFetchSize(), sample);
+
+        double fraction = samplePercent / 100;
+        Map<ParcelStatus, Long> countByStatus = new EnumMap<>(ParcelStatus.class);
+        Map<ParcelStatus, Double> countByStatusError = new EnumMap<>(ParcelStatus.class);
+        for (ParcelStatus status : ParcelStatus.values()) {
+            long sampled = sample.countByStatus[status.ordinal()];
+            countByStatus.put(status, scale(sampled, fraction));
+            countByStatusError.put(status, countError(sampled, fraction));
+        }
+        Map<DeliveryType, Long> countByDeliveryType = new EnumMap<>(DeliveryType.class);
+        Map<DeliveryType, Double> countByDeliveryTypeError = new EnumMap<>(DeliveryType.class);
+        for (DeliveryType deliveryType : DeliveryType.values()) {
+            long sampled = sample.countByDeliveryType[deliveryType.ordinal()];
+            countByDeliveryType.put(deliveryType, scale(sampled, fraction));
+            countByDeliveryTypeError.put(deliveryType, countError(sampled, fraction));
+        }
+
+        return ApproximateParcelStatistic.builder()
+                .statistic(ParcelStatistic.builder()
+                        .totalParcels(scale(sample.count, fraction))
+                        .averageWeight(sample.count == 0 ? null : sample.weightMean)
+                        .averagePrice(sample.count == 0 ? null : sample.priceMean)
+                        .parcelsCountByStatus(countByStatus)
+                        .parcelsCountByDeliveryType(countByDeliveryType)
+                        .build())
+                .samplePercent(samplePercent)
+                .sampledParcels(sample.count)
+                .confidenceLevel(CONFIDENCE_LEVEL)
+                .totalParcelsError(countError(sample.count, fraction))
+                .averageWeightError(meanError(sample.weightM2, sample.count))
+                .averagePriceError(meanError(sample.priceM2, sample.count))
+                .parcelsCountByStatusError(countByStatusError)
+                .parcelsCountByDeliveryTypeError(countByDeliveryTypeError)
+                .weightPercentiles(sample.count == 0 ? null : percentiles(sample.weights))
+                .pricePercentiles(sample.count == 0 ? null : percentiles(sample.prices))
+                .build();
+    }
+
+    private static long scale(long sampled, double fraction) {
+        return Math.round(sampled / fraction);
+    }
+
+    private static Double countError(long sampled, double fraction) {
+        if (sampled == 0) {
+            // (1 - fraction)^n <= 1 - CONFIDENCE_LEVEL; about 3 / fraction for small fractions, 0 for a full scan
+            return Math.log(1 - CONFIDENCE_LEVEL) / Math.log1p(-fraction);
+        }
+        return Z_95 * Math.sqrt(sampled * (1 - fraction)) / fraction;
+    }
+
+    private static Double meanError(double m2, long count) {
+        if (count < 2) {
+            return null;
+        }
+        return Z_95 * Math.sqrt(m2 / (count - 1) / count);
+    }
+
+    private static Percentiles percentiles(QuantileSketch sketch) {
+        return Percentiles.builder()
+                .p50(sketch.quantile(0.5))
+                .p95(sketch.quantile(0.95))
+                .p99(sketch.quantile(0.99))
+                .build();
+    }
+
+    private static class Sample implements SampledParcelConsumer {
+
+        private final long[] countByStatus = new long[ParcelStatus.values().length];
+        private final long[] countByDeliveryType = new long[DeliveryType.values().length];
+        private final QuantileSketch weights;
+        private final QuantileSketch prices;
+        private long count;
+        private double weightMean;
+        private double weightM2;
+        private double priceMean;
+        private double priceM2;
+
+        private Sample(double relativeAccuracy) {
+            this.weights = new QuantileSketch(relativeAccuracy);
+            this.prices = new QuantileSketch(relativeAccuracy);
+        }
+
+        @Override
+        public void accept(double weight, double price, ParcelStatus status, DeliveryType deliveryType) {
+            count++;
+            countByStatus[status.ordinal()]++;
+            countByDeliveryType[deliveryType.ordinal()]++;
+            // Welford's update keeps mean and variance numerically stable in one pass
+            double weightDelta = weight - weightMean;
+            weightMean += weightDelta / count;
+            weightM2 += weightDelta * (weight - weightMean);
+            double priceDelta = price - priceMean;
+            priceMean += priceDelta / count;
+            priceM2 += priceDelta * (price - priceMean);
+            weights.add(weight);
+            prices.add(price);
+        }
+    }
+}
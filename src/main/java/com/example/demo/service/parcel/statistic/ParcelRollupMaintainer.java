@@ -0,0 +1,54 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.repository.ParcelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides on startup whether {@code parcel_rollup} answers statistics and folds the trigger deltas into it on a
+ * schedule. The triggers are always enabled, so every instance compacts whether or not it reads the rollup; this
+ * keeps the delta rows a read adds up to those written since the last compaction. An instance that finds a
+ * trigger disabled does not read the rollup, since writes may be missing from it.
+ */
+@Slf4j
+@Component
+public class ParcelRollupMaintainer {
+
+    private final ParcelRepository parcelRepository;
+    private final ParcelProperties.RollupStatistic config;
+    private volatile boolean active;
+
+    public ParcelRollupMaintainer(ParcelRepository parcelRepository, ParcelProperties properties) {
+        this.parcelRepository = parcelRepository;
+        this.config = properties.getStatistic().getRollup();
+    }
+
+    /**
+     * Whether the rollup is enabled and its triggers were found enabled, so it can answer statistics.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void activate() {
+        if (!config.isEnabled()) {
+            active = false;
+            return;
+        }
+        active = parcelRepository.rollupTriggersEnabled();
+        if (!active) {
+            log.error("Parcel rollup triggers are disabled, statistics keep using the parcel table");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${parcel.statistic.rollup.compact-interval:1s}",
+            fixedDelayString = "${parcel.statistic.rollup.compact-interval:1s}")
+    public void compact() {
+        parcelRepository.compactRollups();
+    }
+}
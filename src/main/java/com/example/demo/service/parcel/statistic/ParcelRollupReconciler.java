@@ -0,0 +1,59 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.repository.ParcelRepository;
+import com.example.demo.repository.ParcelRollupCheck;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically compares {@code parcel_rollup} with the parcel table and, if configured, rebuilds the groups
+ * that drifted. Drift means something bypassed the triggers, e.g. a restore with triggers disabled. Sums are
+ * {@code numeric} on both sides, so any difference is real drift rather than floating point rounding.
+ */
+@Slf4j
+@Component
+public class ParcelRollupReconciler {
+
+    private final ParcelRepository parcelRepository;
+    private final ParcelProperties.RollupStatistic config;
+    private final Counter drifted;
+
+    public ParcelRollupReconciler(ParcelRepository parcelRepository,
+                                  ParcelProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.parcelRepository = parcelRepository;
+        this.config = properties.getStatistic().getRollup();
+        this.drifted = meterRegistry.counter("parcel.rollup.drifted");
+    }
+
+    @Scheduled(initialDelayString = "${parcel.statistic.rollup.reconcile-interval:1h}",
+            fixedDelayString = "${parcel.statistic.rollup.reconcile-interval:1h}")
+    public void scheduledReconcile() {
+        if (config.isEnabled()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Returns the groups that did not match, as they were before any repair.
+     */
+    public List<ParcelRollupCheck> reconcile() {
+        List<ParcelRollupCheck> mismatches = parcelRepository.checkRollups().stream()
+                .filter(check -> !check.matches())
+                .toList();
+        for (ParcelRollupCheck mismatch : mismatches) {
+            drifted.increment();
+            log.warn("Parcel rollup drifted: {}", mismatch);
+            if (config.isRepair()) {
+                parcelRepository.rebuildRollup(mismatch.status(), mismatch.deliveryType());
+            }
+        }
+        return mismatches;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.repository.ParcelRepository;
+import com.example.demo.repository.ParcelRollup;
+import com.example.demo.repository.ParcelRollupExtremes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Answers statistics filtered only by status and delivery type from {@code parcel_rollup}: at most one row per
+ * (status, delivery type) pair plus pending deltas, an index probe per group for the extreme parcels and a
+ * primary key lookup of those, whatever the table size.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParcelRollupStatisticCalculator {
+
+    private final ParcelRepository parcelRepository;
+    private final ParcelRollupMaintainer rollupMaintainer;
+
+    public boolean supports(ParcelSearchParams params) {
+        return rollupMaintainer.isActive() && ParcelStatisticKey.of(params, 0).isEnumOnly();
+    }
+
+    @Transactional(readOnly = true)
+    public ParcelStatistic calculate(ParcelSearchParams params) {
+        ParcelStatisticKey key = ParcelStatisticKey.of(params, 0);
+        List<ParcelRollup> rollups = select(key);
+
+        long count = 0;
+        double weightSum = 0;
+        double priceSum = 0;
+        Map<ParcelStatus, Long> byStatus = new EnumMap<>(ParcelStatus.class);
+        for (ParcelStatus status : ParcelStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        Map<DeliveryType, Long> byDeliveryType = new EnumMap<>(DeliveryType.class);
+        for (DeliveryType deliveryType : DeliveryType.values()) {
+            byDeliveryType.put(deliveryType, 0L);
+        }
+        for (ParcelRollup rollup : rollups) {
+            if (rollup.parcelCount() == 0) {
+                continue;
+            }
+            count += rollup.parcelCount();
+            weightSum += rollup.weightSum();
+            priceSum += rollup.priceSum();
+            byStatus.merge(rollup.status(), rollup.parcelCount(), Long::sum);
+            byDeliveryType.merge(rollup.deliveryType(), rollup.parcelCount(), Long::sum);
+        }
+
+        ParcelStatistic.ParcelStatisticBuilder statistic = ParcelStatistic.builder()
+                .totalParcels(count)
+                .averageWeight(count == 0 ? 0 : weightSum / count)
+                .averagePrice(count == 0 ? 0 : priceSum / count)
+                .parcelsCountByStatus(byStatus)
+                .parcelsCountByDeliveryType(byDeliveryType);
+        if (count == 0) {
+            return statistic.build();
+        }
+        ParcelRollupExtremes ids = parcelRepository.findRollupExtremes(
+                key.statuses().isEmpty() ? List.of(ParcelStatus.values()) : key.statuses(),
+                key.deliveryTypes().isEmpty() ? List.of(DeliveryType.values()) : key.deliveryTypes());
+        Map<Long, Parcel> extremes = parcelRepository.findAllById(
+                        Stream.of(ids.mostExpensiveId(), ids.cheapestId(), ids.heaviestId(), ids.lightestId())
+                                .filter(Objects::nonNull)
+                                .distinct()
+                                .toList())
+                .stream()
+                .collect(Collectors.toMap(Parcel::getId, Function.identity()));
+        return statistic
+                .mostExpensiveParcel(extremes.get(ids.mostExpensiveId()))
+                .cheapestParcel(extremes.get(ids.cheapestId()))
+                .heaviestParcel(extremes.get(ids.heaviestId()))
+                .lightestParcel(extremes.get(ids.lightestId()))
+                .build();
+    }
+
+    private List<ParcelRollup> select(ParcelStatisticKey key) {
+        return parcelRepository.findRollups().stream()
+                .filter(rollup -> key.statuses().isEmpty() || key.statuses().contains(rollup.status()))
+                .filter(rollup -> key.deliveryTypes().isEmpty() || key.deliveryTypes().contains(rollup.deliveryType()))
+                .toList();
+    }
+}
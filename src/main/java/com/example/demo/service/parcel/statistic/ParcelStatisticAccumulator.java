@@ -0,0 +1,118 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Mutable, mergeable in-memory counterpart of the statistic query. Ties between extreme parcels are broken
+ * by the lowest id, same as the database path.
+ */
+public class ParcelStatisticAccumulator {
+
+    private static final ParcelStatus[] STATUSES = ParcelStatus.values();
+    private static final DeliveryType[] DELIVERY_TYPES = DeliveryType.values();
+    private static final Comparator<Parcel> BY_ID =
+            Comparator.comparing(Parcel::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private long count;
+    private double weightSum;
+    private double priceSum;
+    private final long[] countByStatus = new long[STATUSES.length];
+    private final long[] countByDeliveryType = new long[DELIVERY_TYPES.length];
+    private Parcel mostExpensive;
+    private Parcel cheapest;
+    private Parcel heaviest;
+    private Parcel lightest;
+
+    public ParcelStatisticAccumulator add(Parcel parcel) {
+        count++;
+        weightSum += parcel.getWeight();
+        priceSum += parcel.getPrice();
+        countByStatus[parcel.getStatus().ordinal()]++;
+        countByDeliveryType[parcel.getDeliveryType().ordinal()]++;
+        acceptExtremes(parcel, parcel, parcel, parcel);
+        return this;
+    }
+
+    public ParcelStatisticAccumulator merge(ParcelStatisticAccumulator other) {
+        count += other.count;
+        weightSum += other.weightSum;
+        priceSum += other.priceSum;
+        for (int i = 0; i < countByStatus.length; i++) {
+            countByStatus[i] += other.countByStatus[i];
+        }
+        for (int i = 0; i < countByDeliveryType.length; i++) {
+            countByDeliveryType[i] += other.countByDeliveryType[i];
+        }
+        acceptExtremes(other.mostExpensive, other.cheapest, other.heaviest, other.lightest);
+        return this;
+    }
+
+    /**
+     * Merges a statistic computed elsewhere, e.g. by the database over one id range.
+     */
+    public ParcelStatisticAccumulator merge(ParcelStatistic other) {
+        count += other.getTotalParcels();
+        weightSum += other.getAverageWeight() * other.getTotalParcels();
+        priceSum += other.getAveragePrice() * other.getTotalParcels();
+        other.getParcelsCountByStatus().forEach((status, count) -> countByStatus[status.ordinal()] += count);
+        other.getParcelsCountByDeliveryType()
+                .forEach((deliveryType, count) -> countByDeliveryType[deliveryType.ordinal()] += count);
+        acceptExtremes(other.getMostExpensiveParcel(), other.getCheapestParcel(),
+                other.getHeaviestParcel(), other.getLightestParcel());
+        return this;
+    }
+
+    public ParcelStatistic toStatistic() {
+        Map<ParcelStatus, Long> byStatus = new EnumMap<>(ParcelStatus.class);
+        for (ParcelStatus status : STATUSES) {
+            byStatus.put(status, countByStatus[status.ordinal()]);
+        }
+        Map<DeliveryType, Long> byDeliveryType = new EnumMap<>(DeliveryType.class);
+        for (DeliveryType deliveryType : DELIVERY_TYPES) {
+            byDeliveryType.put(deliveryType, countByDeliveryType[deliveryType.ordinal()]);
+        }
+        return ParcelStatistic.builder()
+                .totalParcels(count)
+                .averageWeight(count == 0 ? 0 : weightSum / count)
+                .averagePrice(count == 0 ? 0 : priceSum / count)
+                .parcelsCountByStatus(byStatus)
+                .parcelsCountByDeliveryType(byDeliveryType)
+                .mostExpensiveParcel(mostExpensive)
+                .cheapestParcel(cheapest)
+                .heaviestParcel(heaviest)
+                .lightestParcel(lightest)
+                .build();
+    }
+
+    private void acceptExtremes(Parcel mostExpensive, Parcel cheapest, Parcel heaviest, Parcel lightest) {
+        if (mostExpensive != null && (this.mostExpensive == null
+                || isBefore(mostExpensive.getPrice(), this.mostExpensive.getPrice(), true, mostExpensive, this.mostExpensive))) {
+            this.mostExpensive = mostExpensive;
+        }
+        if (cheapest != null && (this.cheapest == null
+                || isBefore(cheapest.getPrice(), this.cheapest.getPrice(), false, cheapest, this.cheapest))) {
+            this.cheapest = cheapest;
+        }
+        if (heaviest != null && (this.heaviest == null
+                || isBefore(heaviest.getWeight(), this.heaviest.getWeight(), true, heaviest, this.heaviest))) {
+            this.heaviest = heaviest;
+        }
+        if (lightest != null && (this.lightest == null
+                || isBefore(lightest.getWeight(), this.lightest.getWeight(), false, lightest, this.lightest))) {
+            this.lightest = lightest;
+        }
+    }
+
+    private static boolean isBefore(double candidateKey, double currentKey, boolean descending,
+                                    Parcel candidate, Parcel current) {
+        int compared = descending ? Double.compare(currentKey, candidateKey) : Double.compare(candidateKey, currentKey);
+        return compared < 0 || compared == 0 && BY_ID.compare(candidate, current) < 0;
+    }
+}
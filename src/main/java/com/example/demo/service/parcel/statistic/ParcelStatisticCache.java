@@ -0,0 +1,109 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.config.ReadReplicaRouting;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches statistics by {@link ParcelStatisticKey}. Concurrent requests for the same key share a single
+ * computation. Requests pinned to the primary only share with each other, so they never get a result an
+ * unpinned request read from a replica.
+ * <p>
+ * In {@link ParcelProperties.StatisticCacheMode#GENERATION} mode every key carries the current write generation.
+ * A committed write bumps it, so older entries are never served again and simply age out. In
+ * {@link ParcelProperties.StatisticCacheMode#TTL} mode writes are ignored and entries are served until they
+ * expire.
+ */
+@Component
+public class ParcelStatisticCache {
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<Key, CompletableFuture<ParcelStatistic>> cache;
+    private final boolean generational;
+
+    public ParcelStatisticCache(ParcelProperties properties, MeterRegistry meterRegistry) {
+        ParcelProperties.StatisticCache config = properties.getCache().getStatistic();
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .recordStats();
+        if (config.getMode() == ParcelProperties.StatisticCacheMode.TTL) {
+            builder.expireAfterWrite(config.getTtl());
+        }
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, builder.build(), "parcelStatistics");
+        this.generational = config.getMode() == ParcelProperties.StatisticCacheMode.GENERATION;
+    }
+
+    public ParcelStatistic get(ParcelSearchParams params, Function<ParcelSearchParams, ParcelStatistic> loader) {
+        Key key = new Key(ParcelStatisticKey.of(params, generational ? generation.get() : 0),
+                ReadReplicaRouting.isPrimaryPinned());
+        CompletableFuture<ParcelStatistic> computation = new CompletableFuture<>();
+        // Going through the cache rather than its map view keeps the hit and miss counts
+        CompletableFuture<ParcelStatistic> cached = cache.get(key, k -> computation);
+        if (cached != computation) {
+            return join(cached);
+        }
+        try {
+            ReadReplicaRouting.consumeReplicaRead();
+            ParcelStatistic statistic = loader.apply(params);
+            computation.complete(statistic);
+            // A replica may not have replayed the writes of this generation yet: share with waiters, do not keep
+            if (ReadReplicaRouting.consumeReplicaRead() && generational) {
+                cache.asMap().remove(key, computation);
+            }
+            return statistic;
+        } catch (RuntimeException e) {
+            cache.asMap().remove(key, computation);
+            computation.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Invalidates every cached statistic once the current transaction commits, or right away when there is none.
+     */
+    public void markModified() {
+        if (!generational) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    private static ParcelStatistic join(CompletableFuture<ParcelStatistic> computation) {
+        try {
+            return computation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Statistic computation was cancelled", e);
+        }
+    }
+
+    private record Key(ParcelStatisticKey params, boolean primaryPinned) {
+    }
+}
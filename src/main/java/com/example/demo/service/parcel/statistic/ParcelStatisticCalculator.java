@@ -0,0 +1,51 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.model.Parcel;
+import com.example.demo.repository.ParcelAggregate;
+import com.example.demo.repository.ParcelRepository;
+import com.example.demo.repository.ParcelSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+public class ParcelStatisticCalculator {
+
+    private final ParcelRepository parcelRepository;
+
+    @Transactional(readOnly = true)
+    public ParcelStatistic calculate(ParcelSearchParams params) {
+        return calculate(ParcelSpecifications.bySearchParams(params));
+    }
+
+    @Transactional(readOnly = true)
+    public ParcelStatistic calculate(Specification<Parcel> spec) {
+        ParcelAggregate aggregate = parcelRepository.aggregate(spec);
+
+        ParcelStatistic.ParcelStatisticBuilder statistic = ParcelStatistic.builder()
+                .totalParcels(aggregate.totalParcels())
+                .averageWeight(aggregate.averageWeight())
+                .averagePrice(aggregate.averagePrice())
+                .parcelsCountByStatus(aggregate.countByStatus())
+                .parcelsCountByDeliveryType(aggregate.countByDeliveryType());
+        if (aggregate.totalParcels() == 0) {
+            return statistic.build();
+        }
+        return statistic
+                .mostExpensiveParcel(findFirst(spec, Sort.Order.desc(Parcel.Fields.price)))
+                .cheapestParcel(findFirst(spec, Sort.Order.asc(Parcel.Fields.price)))
+                .heaviestParcel(findFirst(spec, Sort.Order.desc(Parcel.Fields.weight)))
+                .lightestParcel(findFirst(spec, Sort.Order.asc(Parcel.Fields.weight)))
+                .build();
+    }
+
+    private Parcel findFirst(Specification<Parcel> spec, Sort.Order order) {
+        Sort sort = Sort.by(order, Sort.Order.asc(Parcel.Fields.id));
+        return parcelRepository.findBy(spec, query -> query.sortBy(sort).first()).orElse(null);
+    }
+}
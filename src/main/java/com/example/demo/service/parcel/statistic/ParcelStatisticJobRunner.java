@@ -0,0 +1,209 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.config.ReadReplicaRouting;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelStatisticJob;
+import com.example.demo.dto.StatisticJobStatus;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs statistics in the background on a fixed pool with a bounded queue; submissions beyond the queue are
+ * rejected. A submission matching a queued or running job joins it instead of starting another one, unless only one
+ * of them is pinned to the primary.
+ * Finished jobs are kept for the configured retention and then forgotten.
+ */
+@Slf4j
+@Component
+public class ParcelStatisticJobRunner {
+
+    private final ParcelStatisticCache statisticCache;
+    private final PartitionedParcelStatisticCalculator statisticCalculator;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, Job> jobs;
+    private final Map<JobKey, Job> inFlight = new ConcurrentHashMap<>();
+
+    public ParcelStatisticJobRunner(ParcelStatisticCache statisticCache,
+                                    PartitionedParcelStatisticCalculator statisticCalculator,
+                                    ParcelProperties properties,
+                                    MeterRegistry meterRegistry) {
+        ParcelProperties.StatisticJobs config = properties.getStatistic().getJobs();
+        this.statisticCache = statisticCache;
+        this.statisticCalculator = statisticCalculator;
+        this.executor = new ThreadPoolExecutor(config.getPoolSize(), config.getPoolSize(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()), threadFactory());
+        // Unfinished jobs weigh nothing and never expire, so only finished ones count against the limits
+        this.jobs = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxRetained())
+                .<String, Job>weigher((id, job) -> job.isDone() ? 1 : 0)
+                .expireAfter(new RetentionExpiry(config.getRetention()))
+                .build();
+        new ExecutorServiceMetrics(executor, "parcelStatisticJobs", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public ParcelStatisticJob submit(ParcelSearchParams params) {
+        validate(params);
+        // A pinned caller must not join a job reading a possibly lagging replica
+        JobKey key = new JobKey(ParcelStatisticKey.of(params, 0), ReadReplicaRouting.isPrimaryPinned());
+        Job job = new Job(UUID.randomUUID().toString(), key, Instant.now());
+        jobs.put(job.id, job);
+        Job existing = inFlight.putIfAbsent(job.key, job);
+        if (existing != null) {
+            jobs.invalidate(job.id);
+            return existing.toDto();
+        }
+        try {
+            executor.execute(ReadReplicaRouting.propagate(() -> run(job, params)));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(job.key, job);
+            jobs.invalidate(job.id);
+            throw new TooManyRequestsException("Too many statistic jobs in progress, retry later");
+        }
+        return job.toDto();
+    }
+
+    public Optional<ParcelStatisticJob> find(String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id)).map(Job::toDto);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, ParcelSearchParams params) {
+        job.startedAt = Instant.now();
+        try {
+            job.statistic = statisticCache.get(params, statisticCalculator::calculate);
+        } catch (RuntimeException e) {
+            log.warn("Statistic job {} failed", job.id, e);
+            job.error = "Statistic calculation failed";
+        } finally {
+            job.completedAt = Instant.now();
+            inFlight.remove(job.key, job);
+            // Re-inserting re-weighs the job and starts its retention period
+            jobs.put(job.id, job);
+        }
+    }
+
+    /**
+     * Rejects parameters the query would fail on, so the caller gets a 400 now rather than a FAILED job later.
+     */
+    private static void validate(ParcelSearchParams params) {
+        text("trackingNumber", params.getTrackingNumber());
+        text("sender", params.getSender());
+        text("recipient", params.getRecipient());
+        range("weight", params.getFromWeight(), params.getToWeight());
+        range("price", params.getFromPrice(), params.getToPrice());
+    }
+
+    private static void text(String name, String value) {
+        // PostgreSQL rejects NUL in text parameters
+        if (value != null && value.indexOf('\0') >= 0) {
+            throw new BadRequestException("Parameter " + name + " must not contain NUL characters");
+        }
+    }
+
+    private static void range(String name, Double from, Double to) {
+        if (from != null && !Double.isFinite(from) || to != null && !Double.isFinite(to)) {
+            throw new BadRequestException("Bounds of " + name + " must be finite numbers");
+        }
+        if (from != null && to != null && from > to) {
+            throw new BadRequestException("Lower bound of " + name + " must not exceed its upper bound");
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "parcel-statistic-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class Job {
+
+        private final String id;
+        private final JobKey key;
+        private final Instant submittedAt;
+        private volatile Instant startedAt;
+        private volatile Instant completedAt;
+        private volatile ParcelStatistic statistic;
+        private volatile String error;
+
+        private Job(String id, JobKey key, Instant submittedAt) {
+            this.id = id;
+            this.key = key;
+            this.submittedAt = submittedAt;
+        }
+
+        private boolean isDone() {
+            return completedAt != null;
+        }
+
+        private ParcelStatisticJob toDto() {
+            Instant completed = completedAt;
+            StatisticJobStatus status;
+            if (completed != null) {
+                status = error == null ? StatisticJobStatus.SUCCEEDED : StatisticJobStatus.FAILED;
+            } else {
+                status = startedAt == null ? StatisticJobStatus.QUEUED : StatisticJobStatus.RUNNING;
+            }
+            return ParcelStatisticJob.builder()
+                    .id(id)
+                    .status(status)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .completedAt(completed)
+                    .statistic(statistic)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    private record JobKey(ParcelStatisticKey params, boolean primaryPinned) {
+    }
+
+    private record RetentionExpiry(Duration retention) implements Expiry<String, Job> {
+
+        @Override
+        public long expireAfterCreate(String id, Job job, long currentTime) {
+            return job.isDone() ? retention.toNanos() : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(String id, Job job, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, job, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String id, Job job, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
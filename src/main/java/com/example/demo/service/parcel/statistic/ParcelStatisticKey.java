@@ -0,0 +1,70 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.TextMatchMode;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Canonical form of {@link ParcelSearchParams}: parameters that select the same parcels produce equal keys.
+ * Text is lower-cased because matching is case-insensitive, blank text and empty lists become "no filter",
+ * and lists are de-duplicated and sorted. A list naming every enum value is also "no filter".
+ */
+public record ParcelStatisticKey(String trackingNumber,
+                                 TextMatchMode trackingNumberMatch,
+                                 String sender,
+                                 String recipient,
+                                 Double fromWeight,
+                                 Double toWeight,
+                                 Double fromPrice,
+                                 Double toPrice,
+                                 List<ParcelStatus> statuses,
+                                 List<DeliveryType> deliveryTypes,
+                                 long generation) {
+
+    public static ParcelStatisticKey of(ParcelSearchParams params, long generation) {
+        String trackingNumber = text(params.getTrackingNumber());
+        return new ParcelStatisticKey(
+                trackingNumber,
+                trackingNumber == null || params.getTrackingNumberMatch() == null
+                        ? TextMatchMode.CONTAINS
+                        : params.getTrackingNumberMatch(),
+                text(params.getSender()),
+                text(params.getRecipient()),
+                params.getFromWeight(),
+                params.getToWeight(),
+                params.getFromPrice(),
+                params.getToPrice(),
+                values(params.getStatuses(), ParcelStatus.values().length),
+                values(params.getDeliveryTypes(), DeliveryType.values().length),
+                generation);
+    }
+
+    /**
+     * Whether only the status and delivery type lists filter, so the per-group rollup can answer exactly.
+     */
+    public boolean isEnumOnly() {
+        return trackingNumber == null && sender == null && recipient == null
+                && fromWeight == null && toWeight == null && fromPrice == null && toPrice == null;
+    }
+
+    private static String text(String value) {
+        return value == null || value.isBlank() ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static <E extends Enum<E>> List<E> values(Collection<E> values, int allValuesCount) {
+        if (values == null) {
+            return List.of();
+        }
+        List<E> canonical = values.stream()
+                .filter(value -> value != null)
+                .distinct()
+                .sorted()
+                .toList();
+        return canonical.size() == allValuesCount ? List.of() : canonical;
+    }
+}
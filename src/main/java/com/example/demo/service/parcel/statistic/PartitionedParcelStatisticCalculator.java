@@ -0,0 +1,109 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.config.ReadReplicaRouting;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.model.Parcel;
+import com.example.demo.repository.ParcelIdRange;
+import com.example.demo.repository.ParcelRepository;
+import com.example.demo.repository.ParcelSpecifications;
+import jakarta.annotation.PreDestroy;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Splits the id range into partitions and aggregates each one in its own read-only transaction on a virtual
+ * thread, then merges the partial statistics. A shared semaphore caps the number of connections taken at once.
+ * <p>
+ * Partitions read separate snapshots, so a statistic computed during concurrent writes may combine partitions
+ * from slightly different points in time. With a single partition it is the plain single-query statistic.
+ */
+@Component
+public class PartitionedParcelStatisticCalculator {
+
+    private final ParcelRepository parcelRepository;
+    private final ParcelStatisticCalculator statisticCalculator;
+    private final int defaultPartitions;
+    private final Semaphore connections;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("parcel-statistic-partition-", 0).factory());
+
+    public PartitionedParcelStatisticCalculator(ParcelRepository parcelRepository,
+                                                ParcelStatisticCalculator statisticCalculator,
+                                                ParcelProperties properties) {
+        ParcelProperties.PartitionedStatistic config = properties.getStatistic().getPartitioned();
+        this.parcelRepository = parcelRepository;
+        this.statisticCalculator = statisticCalculator;
+        this.defaultPartitions = config.getPartitions();
+        this.connections = new Semaphore(config.getParallelism(), true);
+    }
+
+    public ParcelStatistic calculate(ParcelSearchParams params) {
+        return calculate(params, defaultPartitions);
+    }
+
+    public ParcelStatistic calculate(ParcelSearchParams params, int partitions) {
+        if (partitions <= 1) {
+            return statisticCalculator.calculate(params);
+        }
+        ParcelIdRange range = parcelRepository.findIdRange();
+        if (range.isEmpty()) {
+            return new ParcelStatisticAccumulator().toStatistic();
+        }
+        Specification<Parcel> spec = ParcelSpecifications.bySearchParams(params);
+        List<CompletableFuture<ParcelStatistic>> parts = new ArrayList<>(partitions);
+        long span = range.max() - range.min() + 1;
+        for (int i = 0; i < partitions; i++) {
+            long from = range.min() + span * i / partitions;
+            long to = range.min() + span * (i + 1) / partitions - 1;
+            if (from > to) {
+                continue;
+            }
+            Specification<Parcel> partition = spec.and(ParcelSpecifications.idBetween(from, to));
+            parts.add(CompletableFuture.supplyAsync(
+                    ReadReplicaRouting.propagate(() -> calculatePartition(partition)), executor));
+        }
+        ParcelStatisticAccumulator accumulator = new ParcelStatisticAccumulator();
+        for (CompletableFuture<ParcelStatistic> part : parts) {
+            accumulator.merge(join(part));
+        }
+        return accumulator.toStatistic();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ParcelStatistic calculatePartition(Specification<Parcel> partition) {
+        connections.acquireUninterruptibly();
+        try {
+            return statisticCalculator.calculate(partition);
+        } finally {
+            connections.release();
+        }
+    }
+
+    private static ParcelStatistic join(CompletableFuture<ParcelStatistic> part) {
+        try {
+            return part.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Statistic partition was cancelled", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.service.parcel.statistic;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch for non-negative values with a bounded relative error, in the style of DDSketch.
+ * Values are counted in logarithmic buckets of ratio {@code gamma = (1 + a) / (1 - a)}, so any returned
+ * quantile is within {@code a} of the exact value. Two sketches with the same accuracy merge by adding bucket
+ * counts.
+ */
+public class QuantileSketch {
+
+    private static final double MIN_INDEXABLE_VALUE = 1e-9;
+    private static final int INITIAL_BUCKETS = 128;
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private long[] buckets = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+    }
+
+    public void add(double value) {
+        if (value < 0 || Double.isNaN(value)) {
+            throw new IllegalArgumentException("Value must not be negative, got " + value);
+        }
+        count++;
+        if (value < MIN_INDEXABLE_VALUE) {
+            zeroCount++;
+            return;
+        }
+        increment((int) Math.ceil(Math.log(value) / logGamma), 1);
+    }
+
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Sketches with different accuracy cannot be merged");
+        }
+        for (int i = 0; i < other.buckets.length; i++) {
+            if (other.buckets[i] != 0) {
+                increment(i + other.offset, other.buckets[i]);
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        return this;
+    }
+
+    /**
+     * Returns the value at quantile {@code q} (0..1), or {@code 0} when the sketch is empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) (q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (rank < seen) {
+                return 2 * Math.exp((i + offset) * logGamma) / (1 + Math.exp(logGamma));
+            }
+        }
+        throw new IllegalStateException("Bucket counts do not add up to " + count);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    private void increment(int index, long delta) {
+        if (buckets.length == 0) {
+            buckets = new long[INITIAL_BUCKETS];
+            offset = index - INITIAL_BUCKETS / 2;
+        } else if (index < offset) {
+            int shift = Math.max(offset - index, buckets.length / 2);
+            long[] grown = new long[buckets.length + shift];
+            System.arraycopy(buckets, 0, grown, shift, buckets.length);
+            buckets = grown;
+            offset -= shift;
+        } else if (index >= offset + buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(index - offset + 1, buckets.length * 2));
+        }
+        buckets[index - offset] += delta;
+    }
+}
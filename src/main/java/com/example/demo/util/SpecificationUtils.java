@@ -5,6 +5,10 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Collection;
+import java.util.Locale;
+
+import static com.example.demo.util.LikePatterns.LIKE_ESCAPE;
+import static com.example.demo.util.LikePatterns.escapeLike;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class SpecificationUtils {
@@ -14,7 +18,15 @@ public class SpecificationUtils {
             return Specification.where(null);
         }
         return (root, query, cb) ->
-                cb.like(cb.lower(root.get(field)), "%" + value.toLowerCase() + "%");
+                cb.like(cb.lower(root.get(field)), "%" + escapeLike(value.toLowerCase(Locale.ROOT)) + "%", LIKE_ESCAPE);
+    }
+
+    public static <S> Specification<S> iStartsWith(String field, String value) {
+        if (value == null || value.isBlank()) {
+            return Specification.where(null);
+        }
+        return (root, query, cb) ->
+                cb.like(cb.lower(root.get(field)), escapeLike(value.toLowerCase(Locale.ROOT)) + "%", LIKE_ESCAPE);
     }
 
     public static <S, T extends Comparable<? super T>> Specification<S> gte(String field, T value) {
@@ -0,0 +1,18 @@
+CREATE SEQUENCE parcel_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE parcel
+(
+    id              bigint           NOT NULL PRIMARY KEY,
+    tracking_number varchar(255)     NOT NULL,
+    sender          varchar(255)     NOT NULL,
+    recipient       varchar(255)     NOT NULL,
+    weight          double precision NOT NULL,
+    price           double precision NOT NULL,
+    status          varchar(20)      NOT NULL,
+    delivery_type   varchar(20)      NOT NULL,
+    version         bigint           NOT NULL DEFAULT 0,
+    CONSTRAINT parcel_tracking_number_key UNIQUE (tracking_number)
+);
+
+CREATE INDEX parcel_price_idx ON parcel (price);
+CREATE INDEX parcel_weight_idx ON parcel (weight);
@@ -0,0 +1,9 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Substring search: lower(column) LIKE '%value%'
+CREATE INDEX parcel_tracking_number_trgm_idx ON parcel USING gin (lower(tracking_number) gin_trgm_ops);
+CREATE INDEX parcel_sender_trgm_idx ON parcel USING gin (lower(sender) gin_trgm_ops);
+CREATE INDEX parcel_recipient_trgm_idx ON parcel USING gin (lower(recipient) gin_trgm_ops);
+
+-- Prefix search: lower(tracking_number) LIKE 'value%', independent of the database collation
+CREATE INDEX parcel_tracking_number_prefix_idx ON parcel (lower(tracking_number) text_pattern_ops);
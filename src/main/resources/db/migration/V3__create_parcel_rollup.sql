@@ -0,0 +1,115 @@
+-- Per (status, delivery_type) totals of the parcel table. Sums are numeric, so they are exact whatever the order
+-- rows were added and removed in.
+CREATE TABLE parcel_rollup
+(
+    status        varchar(20) NOT NULL,
+    delivery_type varchar(20) NOT NULL,
+    parcel_count  bigint      NOT NULL DEFAULT 0,
+    weight_sum    numeric     NOT NULL DEFAULT 0,
+    price_sum     numeric     NOT NULL DEFAULT 0,
+    PRIMARY KEY (status, delivery_type)
+);
+
+-- Every writing statement appends its per group changes here instead of updating parcel_rollup, so writers
+-- never lock a shared row and cannot deadlock on each other. Readers add these rows to parcel_rollup until
+-- the application folds them in every parcel.statistic.rollup.compact-interval, so a read scans at most the rows
+-- appended during one interval plus one compaction: one per (status, delivery_type) a writing statement touched.
+CREATE TABLE parcel_rollup_delta
+(
+    status        varchar(20) NOT NULL,
+    delivery_type varchar(20) NOT NULL,
+    parcel_count  bigint      NOT NULL,
+    weight_sum    numeric     NOT NULL,
+    price_sum     numeric     NOT NULL
+);
+
+-- Extreme parcels of a group are an index range read instead of a scan
+CREATE INDEX parcel_status_delivery_type_price_idx ON parcel (status, delivery_type, price);
+CREATE INDEX parcel_status_delivery_type_weight_idx ON parcel (status, delivery_type, weight);
+
+CREATE FUNCTION parcel_rollup_on_insert() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO parcel_rollup_delta (status, delivery_type, parcel_count, weight_sum, price_sum)
+    SELECT status, delivery_type, count(*), sum(weight::numeric), sum(price::numeric)
+    FROM new_rows
+    GROUP BY status, delivery_type;
+    RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION parcel_rollup_on_update() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    -- Version-only updates do not touch the rollup
+    WITH changed AS (SELECT o.status AS old_status, o.delivery_type AS old_delivery_type,
+                            o.weight AS old_weight, o.price AS old_price,
+                            n.status, n.delivery_type, n.weight, n.price
+                     FROM old_rows o
+                              JOIN new_rows n ON n.id = o.id
+                     WHERE (o.status, o.delivery_type, o.weight, o.price) IS DISTINCT FROM
+                           (n.status, n.delivery_type, n.weight, n.price)),
+         moves AS (SELECT old_status AS status, old_delivery_type AS delivery_type, -1 AS parcel_count,
+                          -old_weight::numeric AS weight_sum, -old_price::numeric AS price_sum
+                   FROM changed
+                   UNION ALL
+                   SELECT status, delivery_type, 1, weight::numeric, price::numeric
+                   FROM changed)
+    INSERT INTO parcel_rollup_delta (status, delivery_type, parcel_count, weight_sum, price_sum)
+    SELECT status, delivery_type, sum(parcel_count), sum(weight_sum), sum(price_sum)
+    FROM moves
+    GROUP BY status, delivery_type
+    HAVING (sum(parcel_count), sum(weight_sum), sum(price_sum)) <> (0, 0, 0);
+    RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION parcel_rollup_on_delete() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO parcel_rollup_delta (status, delivery_type, parcel_count, weight_sum, price_sum)
+    SELECT status, delivery_type, -count(*), -sum(weight::numeric), -sum(price::numeric)
+    FROM old_rows
+    GROUP BY status, delivery_type;
+    RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION parcel_rollup_on_truncate() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    DELETE FROM parcel_rollup;
+    DELETE FROM parcel_rollup_delta;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER parcel_rollup_insert
+    AFTER INSERT ON parcel
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION parcel_rollup_on_insert();
+
+CREATE TRIGGER parcel_rollup_update
+    AFTER UPDATE ON parcel
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION parcel_rollup_on_update();
+
+CREATE TRIGGER parcel_rollup_delete
+    AFTER DELETE ON parcel
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION parcel_rollup_on_delete();
+
+CREATE TRIGGER parcel_rollup_truncate
+    AFTER TRUNCATE ON parcel
+    FOR EACH STATEMENT EXECUTE FUNCTION parcel_rollup_on_truncate();
+
+-- The triggers stay enabled whatever parcel.statistic.rollup.enabled says, which only decides whether reads use
+-- the rollup, so instances with different settings cannot leave it stale for each other
+INSERT INTO parcel_rollup (status, delivery_type, parcel_count, weight_sum, price_sum)
+SELECT status, delivery_type, count(*), sum(weight::numeric), sum(price::numeric)
+FROM parcel
+GROUP BY status, delivery_type;
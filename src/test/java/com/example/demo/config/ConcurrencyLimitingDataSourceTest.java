@@ -0,0 +1,51 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitingDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final ConcurrencyLimitingDataSource dataSource =
+            new ConcurrencyLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+    @Test
+    void givenPermitHeld_getConnection_shouldTimeOutUntilConnectionClosed() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("No database connection permit available within 50ms");
+
+        first.close();
+        first.close();
+        dataSource.getConnection().close();
+
+        verify(connection, times(3)).close();
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void givenTargetFails_getConnection_shouldReleasePermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down")).thenReturn(mock(Connection.class));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("down");
+
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+}
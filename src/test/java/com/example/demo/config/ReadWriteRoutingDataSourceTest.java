@@ -0,0 +1,94 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final HikariDataSource replica1 = mock(HikariDataSource.class);
+    private final HikariDataSource replica2 = mock(HikariDataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        dataSource = new ReadWriteRoutingDataSource(mock(HikariDataSource.class), primary, List.of(replica1, replica2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadReplicaRouting.end();
+    }
+
+    @Test
+    void givenReadOnlyConnections_getConnection_shouldAlternateReplicasAndMarkReplicaRead() throws SQLException {
+        ReadReplicaRouting.begin(false);
+
+        assertThat(readOnly()).isSameAs(replica1Connection);
+        assertThat(readOnly()).isSameAs(replica2Connection);
+        assertThat(readOnly()).isSameAs(replica1Connection);
+        assertThat(ReadReplicaRouting.consumeReplicaRead()).isTrue();
+        assertThat(ReadReplicaRouting.consumeReplicaRead()).isFalse();
+    }
+
+    @Test
+    void givenPinnedRequest_getConnection_shouldReadFromPrimary() throws SQLException {
+        ReadReplicaRouting.begin(true);
+
+        assertThat(readOnly()).isSameAs(primaryConnection);
+        assertThat(ReadReplicaRouting.consumeReplicaRead()).isFalse();
+    }
+
+    @Test
+    void givenPinnedRequest_propagate_shouldPinTaskOnOtherThread() throws Exception {
+        ReadReplicaRouting.begin(true);
+        Connection[] target = new Connection[1];
+        Thread worker = new Thread(ReadReplicaRouting.propagate(() -> {
+            try {
+                target[0] = readOnly();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        worker.start();
+        worker.join();
+
+        assertThat(target[0]).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void givenReadWriteConnection_getConnection_shouldUsePrimary() throws SQLException {
+        ReadReplicaRouting.begin(false);
+
+        Connection connection = dataSource.getConnection();
+        connection.createStatement();
+
+        verify(primaryConnection).createStatement();
+        assertThat(ReadReplicaRouting.consumeReplicaRead()).isFalse();
+    }
+
+    private Connection readOnly() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setReadOnly(true);
+        return ((ConnectionProxy) connection).getTargetConnection();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(properties());
+    private final AtomicBoolean pinned = new AtomicBoolean();
+
+    @Test
+    void givenWriteWithinWindow_doFilter_shouldPinReadToPrimary() throws Exception {
+        filter(read(System.currentTimeMillis() - 1_000), new MockHttpServletResponse());
+
+        assertThat(pinned).isTrue();
+    }
+
+    @Test
+    void givenWriteBeforeWindow_doFilter_shouldReadFromReplicas() throws Exception {
+        filter(read(System.currentTimeMillis() - WINDOW.toMillis() - 1_000), new MockHttpServletResponse());
+
+        assertThat(pinned).isFalse();
+    }
+
+    @Test
+    void givenNoWriteCookie_doFilter_shouldReadFromReplicas() throws Exception {
+        filter(new MockHttpServletRequest("GET", "/parcels"), new MockHttpServletResponse());
+
+        assertThat(pinned).isFalse();
+    }
+
+    @Test
+    void givenWriteStampedByClockAheadWithinWindow_doFilter_shouldPinReadToPrimary() throws Exception {
+        filter(read(System.currentTimeMillis() + 2_000), new MockHttpServletResponse());
+
+        assertThat(pinned).isTrue();
+    }
+
+    @Test
+    void givenWriteStampedMoreThanWindowAhead_doFilter_shouldReadFromReplicas() throws Exception {
+        filter(read(System.currentTimeMillis() + WINDOW.toMillis() + 1_000), new MockHttpServletResponse());
+
+        assertThat(pinned).isFalse();
+    }
+
+    @Test
+    void givenRead_doFilter_shouldNotStamp() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(new MockHttpServletRequest("GET", "/parcels"), response);
+
+        assertThat(response.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"POST", "PUT", "PATCH", "DELETE"})
+    void givenWrite_doFilter_shouldPinAndStampOnceHandlerIsDone(String method) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicLong handlerDone = new AtomicLong();
+
+        filter.doFilter(new MockHttpServletRequest(method, "/parcels"), response, (request, servletResponse) -> {
+            pinned.set(ReadReplicaRouting.isPrimaryPinned());
+            sleep();
+            handlerDone.set(System.currentTimeMillis());
+            servletResponse.getWriter().write("{}");
+        });
+
+        assertThat(pinned).isTrue();
+        assertThat(stamp(response)).isGreaterThanOrEqualTo(handlerDone.get());
+    }
+
+    @Test
+    void givenWriteWithoutBody_doFilter_shouldStampAfterHandler() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicLong handlerDone = new AtomicLong();
+
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/parcels/TN1"), response, (request, servletResponse) -> {
+            sleep();
+            handlerDone.set(System.currentTimeMillis());
+        });
+
+        assertThat(stamp(response)).isGreaterThanOrEqualTo(handlerDone.get());
+        assertThat(response.getHeaders(HttpHeaders.SET_COOKIE)).hasSize(1);
+    }
+
+    private void filter(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        filter.doFilter(request, response, (req, res) -> pinned.set(ReadReplicaRouting.isPrimaryPinned()));
+    }
+
+    private static MockHttpServletRequest read(long lastWrite) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/parcels");
+        request.setCookies(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, Long.toString(lastWrite)));
+        return request;
+    }
+
+    private static long stamp(MockHttpServletResponse response) {
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isEqualTo((int) WINDOW.toSeconds());
+        return Long.parseLong(cookie.getValue());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ParcelProperties properties() {
+        ParcelProperties properties = new ParcelProperties();
+        properties.getReadReplicas().setEnabled(true);
+        properties.getReadReplicas().setReadYourWritesWindow(WINDOW);
+        properties.getReadReplicas().getPools().add(new ParcelProperties.ReplicaPool());
+        return properties;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.config;
+
+import com.example.demo.controller.ParcelController;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.service.ParcelService;
+import com.example.demo.service.parcel.event.ParcelStatusChangeStream;
+import com.example.demo.service.parcel.export.ParcelExporter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ParcelController.class)
+@EnableConfigurationProperties(ParcelProperties.class)
+class WireFormatConfigTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ParcelService parcelService;
+
+    @MockitoBean
+    private ParcelExporter parcelExporter;
+
+    @MockitoBean
+    private ParcelStatusChangeStream statusChangeStream;
+
+    private final ObjectMapper cborMapper = new CBORMapper();
+
+    @BeforeEach
+    void setUp() {
+        when(parcelService.getByTrackingNumber("TN1")).thenReturn(Parcel.builder()
+                .id(1L)
+                .trackingNumber("TN1")
+                .sender("Antony")
+                .recipient("Bob")
+                .weight(2.5)
+                .price(120)
+                .status(ParcelStatus.DELIVERED)
+                .deliveryType(DeliveryType.EXPRESS)
+                .version(3)
+                .build());
+    }
+
+    @Test
+    void givenAcceptCbor_findByTrackingNumber_shouldWriteCborWithEnumOrdinals() throws Exception {
+        byte[] body = mockMvc.perform(get("/parcels/TN1").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode parcel = cborMapper.readTree(body);
+        assertThat(parcel.get("trackingNumber").textValue()).isEqualTo("TN1");
+        assertThat(parcel.get("status").intValue()).isEqualTo(ParcelStatus.DELIVERED.ordinal());
+    }
+
+    @Test
+    void givenAnyAccept_findByTrackingNumber_shouldWriteJson() throws Exception {
+        mockMvc.perform(get("/parcels/TN1").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value("DELIVERED"));
+    }
+}
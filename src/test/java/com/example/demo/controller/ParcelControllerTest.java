@@ -0,0 +1,127 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.service.ParcelService;
+import com.example.demo.service.parcel.event.ParcelStatusChangeStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ParcelControllerTest {
+
+    private final ParcelService parcelService = mock(ParcelService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ParcelController(parcelService, null, null, new ParcelProperties()))
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+    }
+
+    @Test
+    void givenCurrentVersion_findByTrackingNumber_shouldReturnNotModified() throws Exception {
+        when(parcelService.getByTrackingNumber("TN1")).thenReturn(parcel(3));
+
+        mockMvc.perform(get("/parcels/TN1").header(HttpHeaders.IF_NONE_MATCH, "W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void givenStaleVersion_findByTrackingNumber_shouldReturnParcelWithETag() throws Exception {
+        when(parcelService.getByTrackingNumber("TN1")).thenReturn(parcel(4));
+
+        mockMvc.perform(get("/parcels/TN1").header(HttpHeaders.IF_NONE_MATCH, "W/\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"4\""));
+    }
+
+    @Test
+    void givenUnchangedPage_findAll_shouldReturnNotModified() throws Exception {
+        ParcelView view = new ParcelView(1L, "TN1", "Antony", "Bob", 1.5, 10, ParcelStatus.CREATED,
+                DeliveryType.DEFAULT, 0);
+        when(parcelService.findAllViews(any(ParcelSearchParams.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(view), PageRequest.of(0, 20), 1));
+        String etag = mockMvc.perform(get("/parcels"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/parcels").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void givenSubscription_statusChanges_shouldStreamMatchingChanges() throws Exception {
+        ParcelStatusChangeStream stream = new ParcelStatusChangeStream(new ParcelProperties(), new SimpleMeterRegistry());
+        MockMvc sseMockMvc = MockMvcBuilders
+                .standaloneSetup(new ParcelController(parcelService, null, stream, new ParcelProperties()))
+                .build();
+        try {
+            MvcResult result = sseMockMvc.perform(get("/parcels/status-changes")
+                            .param("trackingNumber", "TN1")
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            stream.publish("TN2", "Antony", "Bob", ParcelStatus.IN_TRANSIT, 1);
+            stream.publish("TN1", "Antony", "Bob", ParcelStatus.DELIVERED, 2);
+
+            String body = awaitContent(result, "TN1");
+            assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+            assertThat(body)
+                    .contains("id:1")
+                    .contains("event:status")
+                    .contains("\"status\":\"DELIVERED\"")
+                    .doesNotContain("TN2");
+        } finally {
+            stream.shutdown();
+        }
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+
+    private static Parcel parcel(long version) {
+        Parcel parcel = new Parcel();
+        parcel.setId(1L);
+        parcel.setTrackingNumber("TN1");
+        parcel.setVersion(version);
+        return parcel;
+    }
+}
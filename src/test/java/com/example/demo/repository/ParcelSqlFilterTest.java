@@ -0,0 +1,85 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.TextMatchMode;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.util.BasePgSqlIT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.example.demo.util.TestResources.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ParcelSqlFilterTest implements BasePgSqlIT {
+
+    @Autowired
+    private ParcelRepository parcelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        parcelRepository.deleteAll();
+        parcelRepository.saveAll(buildInitialParcels());
+        parcelRepository.save(Parcel.builder()
+                .trackingNumber("100%_match")
+                .sender("Mary_Ann O'Neil")
+                .recipient("Sam 50% Off")
+                .weight(WEIGHT_1)
+                .price(PRICE_1)
+                .status(ParcelStatus.CREATED)
+                .deliveryType(DeliveryType.DEFAULT)
+                .build());
+    }
+
+    @ParameterizedTest
+    @MethodSource("searchParams")
+    void givenSearchParams_of_shouldMatchSameParcelsAsSpecification(ParcelSearchParams params) {
+        ParcelSqlFilter filter = ParcelSqlFilter.of(params);
+
+        List<Long> sqlIds = jdbcTemplate.queryForList("SELECT id FROM parcel WHERE " + filter.where(), Long.class,
+                filter.parameters().toArray());
+        List<Long> specificationIds = parcelRepository.findAll(ParcelSpecifications.bySearchParams(params)).stream()
+                .map(Parcel::getId)
+                .toList();
+
+        assertThat(sqlIds).containsExactlyInAnyOrderElementsOf(specificationIds);
+    }
+
+    static Stream<ParcelSearchParams> searchParams() {
+        return Stream.of(
+                ParcelSearchParams.builder().build(),
+                ParcelSearchParams.builder().trackingNumber("A12C").build(),
+                ParcelSearchParams.builder().trackingNumber("d67").trackingNumberMatch(TextMatchMode.PREFIX).build(),
+                ParcelSearchParams.builder().trackingNumber("67").trackingNumberMatch(TextMatchMode.PREFIX).build(),
+                ParcelSearchParams.builder().trackingNumber("100%").trackingNumberMatch(TextMatchMode.PREFIX).build(),
+                ParcelSearchParams.builder().sender("antony").recipient("JOHN").build(),
+                ParcelSearchParams.builder().sender("y_a").build(),
+                ParcelSearchParams.builder().recipient("50%").build(),
+                ParcelSearchParams.builder().recipient("0%").build(),
+                ParcelSearchParams.builder().sender(" ").recipient("").build(),
+                ParcelSearchParams.builder().fromWeight(FROM_WEIGHT_MATCHING_1_2_4).toWeight(60.0).build(),
+                ParcelSearchParams.builder().fromPrice(FROM_PRICE_MATCHING_1_2_4).toPrice(TO_PRICE_MATCHING_2_3_5).build(),
+                ParcelSearchParams.builder()
+                        .statuses(List.of(ParcelStatus.CREATED, ParcelStatus.DELIVERED))
+                        .deliveryTypes(List.of(DeliveryType.EXPRESS))
+                        .build(),
+                ParcelSearchParams.builder()
+                        .sender("LUCAS")
+                        .toWeight(TO_WEIGHT_MATCHING_2_3_5)
+                        .statuses(List.of(ParcelStatus.IN_TRANSIT))
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.serialization;
+
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParcelSerializerTest {
+
+    private final ObjectMapper cborMapper = CBORMapper.builder().addModule(new ParcelBinaryModule()).build();
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    @Test
+    void givenParcel_serialize_shouldWriteSameFieldsAsJsonWithEnumOrdinals() throws Exception {
+        Parcel parcel = Parcel.builder()
+                .id(42L)
+                .trackingNumber("0196a0b2-7c1e-7d3a-9f00-1234567890ab")
+                .sender("Antony")
+                .recipient("Bob")
+                .weight(2.5)
+                .price(120)
+                .status(ParcelStatus.DELIVERED)
+                .deliveryType(DeliveryType.EXPRESS)
+                .version(3)
+                .build();
+
+        byte[] cbor = cborMapper.writeValueAsBytes(parcel);
+        JsonNode binary = cborMapper.readTree(cbor);
+        JsonNode json = jsonMapper.valueToTree(parcel);
+
+        assertThat(binary.get("status").intValue()).isEqualTo(ParcelStatus.DELIVERED.ordinal());
+        assertThat(binary.get("deliveryType").intValue()).isEqualTo(DeliveryType.EXPRESS.ordinal());
+        assertThat(binary.properties()).hasSameSizeAs(json.properties());
+        json.properties().forEach(field -> assertThat(binary.has(field.getKey())).isTrue());
+        assertThat(binary.get("trackingNumber").textValue()).isEqualTo(parcel.getTrackingNumber());
+        assertThat(binary.get("version").longValue()).isEqualTo(3);
+        assertThat(cbor.length).isLessThan(jsonMapper.writeValueAsBytes(parcel).length);
+    }
+}
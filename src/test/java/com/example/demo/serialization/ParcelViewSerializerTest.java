@@ -0,0 +1,49 @@
+package com.example.demo.serialization;
+
+import com.example.demo.dto.ParcelView;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParcelViewSerializerTest {
+
+    private final ObjectMapper cborMapper = CBORMapper.builder().addModule(new ParcelBinaryModule()).build();
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    @Test
+    void givenView_serialize_shouldWriteSameFieldsAsJsonWithEnumOrdinals() throws Exception {
+        ParcelView view = new ParcelView(42L, "0196a0b2-7c1e-7d3a-9f00-1234567890ab", "Antony", "Bob", 2.5, 120,
+                ParcelStatus.IN_TRANSIT, DeliveryType.ECONOM, 7);
+
+        byte[] cbor = cborMapper.writeValueAsBytes(view);
+        JsonNode binary = cborMapper.readTree(cbor);
+        JsonNode json = jsonMapper.valueToTree(view);
+
+        assertThat(binary.get("status").intValue()).isEqualTo(ParcelStatus.IN_TRANSIT.ordinal());
+        assertThat(binary.get("deliveryType").intValue()).isEqualTo(DeliveryType.ECONOM.ordinal());
+        assertThat(binary.properties()).hasSameSizeAs(json.properties());
+        json.properties().forEach(field -> assertThat(binary.has(field.getKey())).isTrue());
+        assertThat(binary.get("id").longValue()).isEqualTo(42);
+        assertThat(binary.get("sender").textValue()).isEqualTo("Antony");
+        assertThat(binary.get("weight").doubleValue()).isEqualTo(2.5);
+        assertThat(binary.get("price").doubleValue()).isEqualTo(120);
+        assertThat(binary.get("version").longValue()).isEqualTo(7);
+        assertThat(cbor.length).isLessThan(jsonMapper.writeValueAsBytes(view).length);
+    }
+
+    @Test
+    void givenViewWithoutEnums_serialize_shouldWriteNulls() throws Exception {
+        ParcelView view = new ParcelView(1L, "TN1", null, null, 1.0, 2.0, null, null, 0);
+
+        JsonNode binary = cborMapper.readTree(cborMapper.writeValueAsBytes(view));
+
+        assertThat(binary.get("status").isNull()).isTrue();
+        assertThat(binary.get("deliveryType").isNull()).isTrue();
+        assertThat(binary.get("sender").isNull()).isTrue();
+    }
+}
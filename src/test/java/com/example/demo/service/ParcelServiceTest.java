@@ -1,15 +1,30 @@
 package com.example.demo.service;
 
-import com.example.demo.dto.CreateParcelRequest;
+import com.example.demo.dto.BulkUpdateParcelStatusRequest;
+import com.example.demo.dto.BulkUpdateParcelStatusResult;
+import com.example.demo.dto.ParcelCursorPage;
 import com.example.demo.dto.ParcelSearchParams;
 import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelView;
+import com.example.demo.dto.TextMatchMode;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.ConflictException;
 import com.example.demo.exception.NotFoundException;
 import com.example.demo.model.DeliveryType;
 import com.example.demo.model.Parcel;
 import com.example.demo.model.ParcelStatus;
 import com.example.demo.repository.ParcelRepository;
+import com.example.demo.repository.ParcelRollupCheck;
+import com.example.demo.service.parcel.event.ParcelStatusChangeStream;
+import com.example.demo.service.parcel.lookup.ParcelLookupCache;
+import com.example.demo.service.parcel.statistic.ParcelRollupMaintainer;
+import com.example.demo.service.parcel.statistic.ParcelRollupReconciler;
+import com.example.demo.service.parcel.statistic.ParcelStatisticCache;
+import com.example.demo.service.parcel.statistic.ParcelStatisticCalculator;
 import com.example.demo.util.BasePgSqlIT;
 import com.example.demo.util.CommonGenerator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -18,20 +33,33 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
-import static com.example.demo.service.ParcelServiceTest.TestResources.*;
+import static com.example.demo.util.TestResources.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest(properties = "spring.jpa.show-sql=true")
+@SpringBootTest(properties = {"spring.jpa.show-sql=true", "parcel.batch.status-chunk-size=2",
+        "parcel.statistic.rollup.enabled=true"})
 class ParcelServiceTest implements BasePgSqlIT {
 
     @Autowired
@@ -40,12 +68,38 @@ class ParcelServiceTest implements BasePgSqlIT {
     @Autowired
     private ParcelService parcelService;
 
+    @Autowired
+    private ParcelLookupCache lookupCache;
+
+    @Autowired
+    private ParcelStatisticCache statisticCache;
+
+    @Autowired
+    private ParcelStatisticCalculator statisticCalculator;
+
+    @Autowired
+    private ParcelRollupReconciler rollupReconciler;
+
+    @Autowired
+    private ParcelRollupMaintainer rollupMaintainer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @MockitoBean
     private CommonGenerator generator;
 
+    @MockitoSpyBean
+    private ParcelStatusChangeStream statusChangeStream;
+
     @BeforeEach
     void setUp() {
         parcelRepository.deleteAll();
+        lookupCache.clear();
+        statisticCache.markModified();
     }
 
     @Test
@@ -60,6 +114,32 @@ class ParcelServiceTest implements BasePgSqlIT {
                 .isEqualTo(buildParcel_1_from_Antony_to_John_CREATED_EXPRESS());
     }
 
+    @Test
+    void givenCachedParcel_updateStatus_shouldRefreshCachedParcel() {
+        parcelRepository.save(buildParcel_1_from_Antony_to_John_CREATED_EXPRESS());
+        parcelService.getByTrackingNumber(TRACKING_NUMBER_1);
+
+        parcelService.updateStatus(TRACKING_NUMBER_1, ParcelStatus.DELIVERED);
+
+        assertThat(parcelService.getByTrackingNumber(TRACKING_NUMBER_1).getStatus())
+                .isEqualTo(ParcelStatus.DELIVERED);
+    }
+
+    @Test
+    void givenParcelsLoadedInSession_sessionEnd_shouldRecordEntityLoads() {
+        parcelRepository.save(buildParcel_1_from_Antony_to_John_CREATED_EXPRESS());
+        parcelRepository.save(buildParcel_2_from_Emma_to_John_IN_TRANSIT_DEFAULT());
+        DistributionSummary entityLoads = Metrics.globalRegistry.summary("hibernate.session.entity.loads",
+                "operation", "none");
+        long sessions = entityLoads.count();
+        double loads = entityLoads.totalAmount();
+
+        transactionTemplate.executeWithoutResult(status -> parcelRepository.findAll());
+
+        assertThat(entityLoads.count()).isEqualTo(sessions + 1);
+        assertThat(entityLoads.totalAmount()).isEqualTo(loads + 2);
+    }
+
     @Test
     void givenNoParcels_getByTrackingNumber_shouldThrowNotFoundException() {
         assertThatThrownBy(() -> parcelService.getByTrackingNumber("invalidTrackingNumber"))
@@ -80,6 +160,74 @@ class ParcelServiceTest implements BasePgSqlIT {
                 .containsExactlyInAnyOrderElementsOf(matchingParcels);
     }
 
+    @ParameterizedTest
+    @MethodSource("provideFindAllTestArguments")
+    void givenParcelsInDb_findAllViews_shouldProjectParcelsUsingSearchParams(ParcelSearchParams searchParams,
+                                                                            List<Parcel> matchingParcels) {
+        parcelRepository.saveAll(buildInitialParcels());
+
+        Page<ParcelView> parcels = parcelService.findAllViews(searchParams, PAGEABLE);
+
+        assertThat(parcels.getContent())
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields(Parcel.Fields.id)
+                .containsExactlyInAnyOrderElementsOf(matchingParcels.stream()
+                        .map(parcel -> new ParcelView(null, parcel.getTrackingNumber(), parcel.getSender(),
+                                parcel.getRecipient(), parcel.getWeight(), parcel.getPrice(), parcel.getStatus(),
+                                parcel.getDeliveryType(), parcel.getVersion()))
+                        .toList());
+        assertThat(parcels.getTotalElements()).isEqualTo(matchingParcels.size());
+    }
+
+    @Test
+    void givenParcelsInDb_findAllWithCursor_shouldWalkAllPagesInSortOrder() {
+        parcelRepository.saveAll(buildInitialParcels());
+
+        List<Parcel> parcels = new ArrayList<>();
+        ParcelCursorPage page = parcelService.findAll(ParcelSearchParams.builder().build(), null, 2,
+                Sort.by(Sort.Direction.DESC, Parcel.Fields.price));
+        parcels.addAll(page.getContent());
+        while (page.isHasNext()) {
+            page = parcelService.findAll(ParcelSearchParams.builder().build(), page.getNextCursor(), 2, Sort.unsorted());
+            parcels.addAll(page.getContent());
+        }
+
+        assertThat(parcels)
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields(Parcel.Fields.id)
+                .containsExactly(buildParcel_4_from_Antony_to_James_DELIVERED_EXPRESS(),
+                        buildParcel_1_from_Antony_to_John_CREATED_EXPRESS(),
+                        buildParcel_2_from_Emma_to_John_IN_TRANSIT_DEFAULT(),
+                        buildParcel_5_from_Lucas_to_Olivia_IN_TRANSIT_DEFAULT(),
+                        buildParcel_3_from_Lucas_to_Olivia_DELIVERED_ECONOM());
+    }
+
+    @Test
+    void givenParcelsInDb_findAllWithCursor_shouldApplySearchParams() {
+        parcelRepository.saveAll(buildInitialParcels());
+
+        ParcelCursorPage page = parcelService.findAll(ParcelSearchParams.builder().sender(SENDER_LUCAS).build(),
+                null, 10, Sort.unsorted());
+
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getContent())
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields(Parcel.Fields.id)
+                .containsExactlyInAnyOrder(buildParcel_3_from_Lucas_to_Olivia_DELIVERED_ECONOM(),
+                        buildParcel_5_from_Lucas_to_Olivia_IN_TRANSIT_DEFAULT());
+    }
+
+    @Test
+    void givenParcelsInDb_streamAll_shouldPassMatchingParcelsToConsumer() {
+        parcelRepository.saveAll(buildInitialParcels());
+
+        List<Parcel> parcels = new ArrayList<>();
+        parcelService.streamAll(ParcelSearchParams.builder().recipient(RECIPIENT_JOHN).build(), parcels::add);
+
+        assertThat(parcels)
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields(Parcel.Fields.id)
+                .containsExactlyInAnyOrder(buildParcel_1_from_Antony_to_John_CREATED_EXPRESS(),
+                        buildParcel_2_from_Emma_to_John_IN_TRANSIT_DEFAULT());
+    }
+
     @ParameterizedTest
     @MethodSource("provideBuildStatisticTestArguments")
     void givenParcelsInDb_buildStatistic_shouldBuildStatisticUsingSearchParams(ParcelSearchParams searchParams,
@@ -94,6 +242,74 @@ class ParcelServiceTest implements BasePgSqlIT {
                 .isEqualTo(expectedStatistic);
     }
 
+    @Test
+    void givenStatusChanges_buildStatistic_shouldMatchStatisticComputedFromParcels() {
+        parcelRepository.saveAll(buildInitialParcels());
+        List<ParcelSearchParams> searchParams = List.of(
+                ParcelSearchParams.builder().build(),
+                ParcelSearchParams.builder().statuses(List.of(ParcelStatus.CREATED, ParcelStatus.IN_TRANSIT)).build(),
+                ParcelSearchParams.builder().statuses(List.of(ParcelStatus.DELIVERED))
+                        .deliveryTypes(List.of(DeliveryType.EXPRESS, DeliveryType.ECONOM)).build());
+
+        for (String trackingNumber : List.of(TRACKING_NUMBER_1, TRACKING_NUMBER_5, TRACKING_NUMBER_2)) {
+            parcelService.updateStatus(trackingNumber, ParcelStatus.DELIVERED);
+
+            for (ParcelSearchParams params : searchParams) {
+                assertThat(parcelService.buildStatistic(params))
+                        .usingRecursiveComparison()
+                        .isEqualTo(statisticCalculator.calculate(params));
+            }
+        }
+    }
+
+    @Test
+    void givenDriftedRollup_reconcile_shouldRebuildDriftedGroups() {
+        parcelRepository.saveAll(buildInitialParcels());
+        jdbcTemplate.update("""
+                INSERT INTO parcel_rollup_delta (status, delivery_type, parcel_count, weight_sum, price_sum)
+                VALUES ('CREATED', 'EXPRESS', 7, 0, 0)
+                """);
+
+        assertThat(rollupReconciler.reconcile())
+                .extracting(ParcelRollupCheck::status)
+                .containsOnly(ParcelStatus.CREATED);
+        assertThat(rollupReconciler.reconcile()).isEmpty();
+        assertThat(parcelService.buildStatistic(ParcelSearchParams.builder().build()))
+                .usingRecursiveComparison()
+                .ignoringFieldsMatchingRegexes(".*." + Parcel.Fields.id)
+                .isEqualTo(buildParcelStatistic_Initial());
+    }
+
+    @Test
+    void givenPendingDeltas_compactRollups_shouldFoldDeltasWithoutChangingStatistic() {
+        parcelRepository.saveAll(buildInitialParcels());
+        parcelService.updateStatus(TRACKING_NUMBER_1, ParcelStatus.DELIVERED);
+        ParcelStatistic before = parcelService.buildStatistic(ParcelSearchParams.builder().build());
+
+        assertThat(parcelRepository.compactRollups()).isPositive();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM parcel_rollup_delta", Long.class)).isZero();
+        assertThat(parcelService.buildStatistic(ParcelSearchParams.builder().build()))
+                .usingRecursiveComparison()
+                .isEqualTo(before);
+        assertThat(rollupReconciler.reconcile()).isEmpty();
+    }
+
+    @Test
+    void givenDisabledRollupTrigger_activate_shouldNotServeFromRollup() {
+        assertThat(rollupMaintainer.isActive()).isTrue();
+        jdbcTemplate.execute("ALTER TABLE parcel DISABLE TRIGGER parcel_rollup_update");
+        try {
+            rollupMaintainer.activate();
+
+            assertThat(rollupMaintainer.isActive()).isFalse();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE parcel ENABLE TRIGGER parcel_rollup_update");
+            rollupMaintainer.activate();
+        }
+        assertThat(rollupMaintainer.isActive()).isTrue();
+    }
+
     @ParameterizedTest
     @MethodSource("provideCreateTestArguments")
     void givenCreateParcelRequest_create_shouldSaveToDb(DeliveryType deliveryType, Double price) {
@@ -110,6 +326,24 @@ class ParcelServiceTest implements BasePgSqlIT {
                 .isEqualTo(buildCreatedParcel(deliveryType, price));
     }
 
+    @Test
+    void givenCreateParcelRequests_createAll_shouldSaveAllToDb() {
+        when(generator.uuid()).thenReturn(TRACKING_NUMBER_1, TRACKING_NUMBER_2, TRACKING_NUMBER_3);
+
+        List<Parcel> createdParcels = parcelService.createAll(List.of(
+                buildCreateParcelRequest(DeliveryType.EXPRESS),
+                buildCreateParcelRequest(DeliveryType.DEFAULT),
+                buildCreateParcelRequest(DeliveryType.ECONOM)));
+
+        assertThat(createdParcels).allSatisfy(parcel -> assertThat(parcel.getId()).isNotNull());
+        assertThat(parcelRepository.findAll())
+                .extracting(Parcel::getTrackingNumber, Parcel::getPrice)
+                .containsExactlyInAnyOrder(
+                        tuple(TRACKING_NUMBER_1, 603.0),
+                        tuple(TRACKING_NUMBER_2, 402.0),
+                        tuple(TRACKING_NUMBER_3, 201.0));
+    }
+
     @Test
     void givenParcelInDb_updateStatus_shouldUpdateParcelStatus() {
         parcelRepository.save(buildParcel_1_from_Antony_to_John_CREATED_EXPRESS());
@@ -121,9 +355,105 @@ class ParcelServiceTest implements BasePgSqlIT {
                 .ignoringFields(Parcel.Fields.id)
                 .isEqualTo(buildParcel_1_from_Antony_to_John_CREATED_EXPRESS().toBuilder()
                         .status(ParcelStatus.IN_TRANSIT)
+                        .version(1)
                         .build());
     }
 
+    @Test
+    void givenStaleVersion_updateStatus_shouldThrowConflictException() {
+        parcelRepository.save(buildParcel_1_from_Antony_to_John_CREATED_EXPRESS());
+        parcelService.updateStatus(TRACKING_NUMBER_1, ParcelStatus.IN_TRANSIT, 0L);
+
+        assertThatThrownBy(() -> parcelService.updateStatus(TRACKING_NUMBER_1, ParcelStatus.DELIVERED, 0L))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Parcel with tracking number " + TRACKING_NUMBER_1 + " was modified concurrently");
+        assertThat(parcelRepository.findByTrackingNumber(TRACKING_NUMBER_1).orElseThrow().getStatus())
+                .isEqualTo(ParcelStatus.IN_TRANSIT);
+    }
+
+    @Test
+    void givenParcelLoadedInSameTransaction_updateStatus_shouldReturnUpdatedParcel() {
+        parcelRepository.save(buildParcel_1_from_Antony_to_John_CREATED_EXPRESS());
+
+        Parcel updatedParcel = transactionTemplate.execute(transaction -> {
+            parcelRepository.findByTrackingNumber(TRACKING_NUMBER_1).orElseThrow();
+            return parcelService.updateStatus(TRACKING_NUMBER_1, ParcelStatus.IN_TRANSIT);
+        });
+
+        assertThat(updatedParcel.getStatus()).isEqualTo(ParcelStatus.IN_TRANSIT);
+        assertThat(updatedParcel.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void givenMissingStatus_updateStatus_shouldThrowBadRequestException() {
+        assertThatThrownBy(() -> parcelService.updateStatus(TRACKING_NUMBER_1, null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Status is missing for parcel " + TRACKING_NUMBER_1);
+    }
+
+    @Test
+    void givenParcelsInDb_updateStatuses_shouldReportOutcomePerItem() {
+        parcelRepository.saveAll(buildInitialParcels());
+
+        List<BulkUpdateParcelStatusResult> results = parcelService.updateStatuses(BulkUpdateParcelStatusRequest.builder()
+                .status(ParcelStatus.DELIVERED)
+                .items(List.of(
+                        BulkUpdateParcelStatusRequest.Item.builder().trackingNumber(TRACKING_NUMBER_1).build(),
+                        BulkUpdateParcelStatusRequest.Item.builder().trackingNumber(TRACKING_NUMBER_2)
+                                .status(ParcelStatus.CREATED).version(0L).build(),
+                        BulkUpdateParcelStatusRequest.Item.builder().trackingNumber(TRACKING_NUMBER_3).version(5L).build(),
+                        BulkUpdateParcelStatusRequest.Item.builder().trackingNumber("invalidTrackingNumber").build()))
+                .build());
+
+        assertThat(results)
+                .extracting(BulkUpdateParcelStatusResult::getTrackingNumber, BulkUpdateParcelStatusResult::getOutcome)
+                .containsExactly(
+                        tuple(TRACKING_NUMBER_1, BulkUpdateParcelStatusResult.Outcome.UPDATED),
+                        tuple(TRACKING_NUMBER_2, BulkUpdateParcelStatusResult.Outcome.UPDATED),
+                        tuple(TRACKING_NUMBER_3, BulkUpdateParcelStatusResult.Outcome.CONFLICT),
+                        tuple("invalidTrackingNumber", BulkUpdateParcelStatusResult.Outcome.NOT_FOUND));
+        assertThat(parcelRepository.findByTrackingNumber(TRACKING_NUMBER_1).orElseThrow().getStatus())
+                .isEqualTo(ParcelStatus.DELIVERED);
+        assertThat(parcelRepository.findByTrackingNumber(TRACKING_NUMBER_2).orElseThrow().getStatus())
+                .isEqualTo(ParcelStatus.CREATED);
+        assertThat(parcelRepository.findByTrackingNumber(TRACKING_NUMBER_3).orElseThrow().getStatus())
+                .isEqualTo(STATUS_3);
+        verify(statusChangeStream).publish(TRACKING_NUMBER_1, SENDER_ANTONY, RECIPIENT_JOHN, ParcelStatus.DELIVERED, 1);
+        verify(statusChangeStream).publish(TRACKING_NUMBER_2, SENDER_EMMA, RECIPIENT_JOHN, ParcelStatus.CREATED, 1);
+        verify(statusChangeStream, never()).publish(eq(TRACKING_NUMBER_3), anyString(), anyString(), any(), anyLong());
+    }
+
+    @Test
+    void givenOverlappingBatchesInOppositeOrder_updateStatuses_shouldNotDeadlock() throws Exception {
+        parcelRepository.saveAll(buildInitialParcels());
+        List<String> trackingNumbers = buildInitialParcels().stream().map(Parcel::getTrackingNumber).toList();
+        List<String> reversed = trackingNumbers.reversed();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            List<Future<?>> batches = new ArrayList<>();
+            for (List<String> order : List.of(trackingNumbers, reversed)) {
+                batches.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        parcelService.updateStatuses(BulkUpdateParcelStatusRequest.builder()
+                                .status(i % 2 == 0 ? ParcelStatus.IN_TRANSIT : ParcelStatus.DELIVERED)
+                                .items(order.stream()
+                                        .map(trackingNumber -> BulkUpdateParcelStatusRequest.Item.builder()
+                                                .trackingNumber(trackingNumber).build())
+                                        .toList())
+                                .build());
+                    }
+                }));
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        }
+
+        assertThat(parcelRepository.findAll())
+                .extracting(Parcel::getVersion)
+                .containsOnly(100L);
+    }
+
     @Test
     void givenNoParcelInDb_updateStatus_shouldThrowNotFoundException() {
         assertThatThrownBy(() -> parcelService.updateStatus("invalidTrackingNumber", ParcelStatus.IN_TRANSIT))
@@ -141,6 +471,22 @@ class ParcelServiceTest implements BasePgSqlIT {
                         ParcelSearchParams.builder().trackingNumber(TRACKING_NUMBER_1).build(),
                         List.of(buildParcel_1_from_Antony_to_John_CREATED_EXPRESS())
                 ),
+                Arguments.of(
+                        ParcelSearchParams.builder()
+                                .trackingNumber(TRACKING_NUMBER_1.substring(0, 8).toUpperCase())
+                                .trackingNumberMatch(TextMatchMode.PREFIX).build(),
+                        List.of(buildParcel_1_from_Antony_to_John_CREATED_EXPRESS())
+                ),
+                Arguments.of(
+                        ParcelSearchParams.builder()
+                                .trackingNumber(TRACKING_NUMBER_1.substring(1, 8))
+                                .trackingNumberMatch(TextMatchMode.PREFIX).build(),
+                        List.of()
+                ),
+                Arguments.of(
+                        ParcelSearchParams.builder().sender("%").build(),
+                        List.of()
+                ),
                 Arguments.of(
                         ParcelSearchParams.builder().sender(SENDER_ANTONY).build(),
                         List.of(buildParcel_1_from_Antony_to_John_CREATED_EXPRESS(),
@@ -262,217 +608,4 @@ class ParcelServiceTest implements BasePgSqlIT {
                 Arguments.of(DeliveryType.ECONOM, 201.0)
         );
     }
-
-    public static class TestResources {
-
-        public static final String SENDER_ANTONY = "Antony Williams";
-        public static final String SENDER_EMMA = "Emma Brown";
-        public static final String SENDER_LUCAS = "Lucas Johnson";
-
-        public static final String RECIPIENT_JOHN = "John Doe";
-        public static final String RECIPIENT_OLIVIA = "Olivia Davis";
-        public static final String RECIPIENT_JAMES = "James Taylor";
-
-        public static final String TRACKING_NUMBER_1 = "fa635f04-3094-46b2-b6f7-8fbe377c8be3";
-        public static final Double WEIGHT_1 = 50.0;
-        public static final Double PRICE_1 = 70.0;
-        public static final ParcelStatus STATUS_1 = ParcelStatus.CREATED;
-        public static final DeliveryType DELIVERY_TYPE_1 = DeliveryType.EXPRESS;
-
-        public static final String TRACKING_NUMBER_2 = "a12c98d1-7b56-44a3-bb57-928cc501e2af";
-        public static final Double WEIGHT_2 = 30.5;
-        public static final Double PRICE_2 = 45.0;
-        public static final ParcelStatus STATUS_2 = ParcelStatus.IN_TRANSIT;
-        public static final DeliveryType DELIVERY_TYPE_2 = DeliveryType.DEFAULT;
-
-        public static final String TRACKING_NUMBER_3 = "d67237c5-8ec3-47b3-9b14-3d94a3ed37d2";
-        public static final Double WEIGHT_3 = 10.0;
-        public static final Double PRICE_3 = 20.0;
-        public static final ParcelStatus STATUS_3 = ParcelStatus.DELIVERED;
-        public static final DeliveryType DELIVERY_TYPE_3 = DeliveryType.ECONOM;
-
-        public static final String TRACKING_NUMBER_4 = "b1f248f3-4c67-4d27-b4e9-bc6522c4d623";
-        public static final Double WEIGHT_4 = 75.0;
-        public static final Double PRICE_4 = 90.0;
-        public static final ParcelStatus STATUS_4 = ParcelStatus.DELIVERED;
-        public static final DeliveryType DELIVERY_TYPE_4 = DeliveryType.EXPRESS;
-
-        public static final String TRACKING_NUMBER_5 = "c45a821a-bda1-4e12-b7d6-2e6a5ef62c14";
-        public static final Double WEIGHT_5 = 22.0;
-        public static final Double PRICE_5 = 35.0;
-        public static final ParcelStatus STATUS_5 = ParcelStatus.IN_TRANSIT;
-        public static final DeliveryType DELIVERY_TYPE_5 = DeliveryType.DEFAULT;
-
-        public static final String CREATE_PARCEL_REQUEST_SENDER = "William";
-        public static final String CREATE_PARCEL_REQUEST_RECIPIENT = "Arthur";
-        public static final Double CREATE_PARCEL_REQUEST_WEIGHT = 10.0;
-        public static final String CREATED_PARCEL_TRACKING_NUMBER = "ab0ee696-c5c6-4e64-b278-5ead7fc78ca8";
-
-        public static final Double FROM_WEIGHT_MATCHING_1_2_4 = 30.0;
-        public static final Double TO_WEIGHT_MATCHING_2_3_5 = 40.0;
-
-        public static final Double FROM_PRICE_MATCHING_1_2_4 = 45.0;
-        public static final Double TO_PRICE_MATCHING_2_3_5 = 45.0;
-
-        public static final Integer PAGE_NUMBER = 0;
-        public static final Integer PAGE_SIZE = 10;
-        public static final Pageable PAGEABLE = PageRequest.of(PAGE_NUMBER, PAGE_SIZE);
-
-        public static CreateParcelRequest buildCreateParcelRequest(DeliveryType deliveryType) {
-            return CreateParcelRequest.builder()
-                    .sender(CREATE_PARCEL_REQUEST_SENDER)
-                    .recipient(CREATE_PARCEL_REQUEST_RECIPIENT)
-                    .weight(CREATE_PARCEL_REQUEST_WEIGHT)
-                    .deliveryType(deliveryType)
-                    .build();
-        }
-
-        public static Parcel buildCreatedParcel(DeliveryType deliveryType, Double price) {
-            return Parcel.builder()
-                    .trackingNumber(CREATED_PARCEL_TRACKING_NUMBER)
-                    .sender(CREATE_PARCEL_REQUEST_SENDER)
-                    .recipient(CREATE_PARCEL_REQUEST_RECIPIENT)
-                    .weight(CREATE_PARCEL_REQUEST_WEIGHT)
-                    .price(price)
-                    .status(ParcelStatus.CREATED)
-                    .deliveryType(deliveryType)
-                    .build();
-        }
-
-        public static List<Parcel> buildInitialParcels() {
-            return List.of(
-                    buildParcel_1_from_Antony_to_John_CREATED_EXPRESS(),
-                    buildParcel_2_from_Emma_to_John_IN_TRANSIT_DEFAULT(),
-                    buildParcel_3_from_Lucas_to_Olivia_DELIVERED_ECONOM(),
-                    buildParcel_4_from_Antony_to_James_DELIVERED_EXPRESS(),
-                    buildParcel_5_from_Lucas_to_Olivia_IN_TRANSIT_DEFAULT()
-            );
-        }
-
-        public static Parcel buildParcel_1_from_Antony_to_John_CREATED_EXPRESS() {
-            return Parcel.builder()
-                    .trackingNumber(TRACKING_NUMBER_1)
-                    .sender(SENDER_ANTONY)
-                    .recipient(RECIPIENT_JOHN)
-                    .weight(WEIGHT_1)
-                    .price(PRICE_1)
-                    .status(STATUS_1)
-                    .deliveryType(DELIVERY_TYPE_1)
-                    .build();
-        }
-
-        public static Parcel buildParcel_2_from_Emma_to_John_IN_TRANSIT_DEFAULT() {
-            return Parcel.builder()
-                    .trackingNumber(TRACKING_NUMBER_2)
-                    .sender(SENDER_EMMA)
-                    .recipient(RECIPIENT_JOHN)
-                    .weight(WEIGHT_2)
-                    .price(PRICE_2)
-                    .status(STATUS_2)
-                    .deliveryType(DELIVERY_TYPE_2)
-                    .build();
-        }
-
-        public static Parcel buildParcel_3_from_Lucas_to_Olivia_DELIVERED_ECONOM() {
-            return Parcel.builder()
-                    .trackingNumber(TRACKING_NUMBER_3)
-                    .sender(SENDER_LUCAS)
-                    .recipient(RECIPIENT_OLIVIA)
-                    .weight(WEIGHT_3)
-                    .price(PRICE_3)
-                    .status(STATUS_3)
-                    .deliveryType(DELIVERY_TYPE_3)
-                    .build();
-        }
-
-        public static Parcel buildParcel_4_from_Antony_to_James_DELIVERED_EXPRESS() {
-            return Parcel.builder()
-                    .trackingNumber(TRACKING_NUMBER_4)
-                    .sender(SENDER_ANTONY)
-                    .recipient(RECIPIENT_JAMES)
-                    .weight(WEIGHT_4)
-                    .price(PRICE_4)
-                    .status(STATUS_4)
-                    .deliveryType(DELIVERY_TYPE_4)
-                    .build();
-        }
-
-        public static Parcel buildParcel_5_from_Lucas_to_Olivia_IN_TRANSIT_DEFAULT() {
-            return Parcel.builder()
-                    .trackingNumber(TRACKING_NUMBER_5)
-                    .sender(SENDER_LUCAS)
-                    .recipient(RECIPIENT_OLIVIA)
-                    .weight(WEIGHT_5)
-                    .price(PRICE_5)
-                    .status(STATUS_5)
-                    .deliveryType(DELIVERY_TYPE_5)
-                    .build();
-        }
-
-        public static ParcelStatistic buildParcelStatistic_Initial() {
-            return ParcelStatistic.builder()
-                    .totalParcels(5)
-                    .averageWeight((WEIGHT_1 + WEIGHT_2 + WEIGHT_3 + WEIGHT_4 + WEIGHT_5) / 5)
-                    .averagePrice((PRICE_1 + PRICE_2 + PRICE_3 + PRICE_4 + PRICE_5) / 5)
-                    .parcelsCountByStatus(Map.of(
-                            ParcelStatus.CREATED, 1L,
-                            ParcelStatus.IN_TRANSIT, 2L,
-                            ParcelStatus.DELIVERED, 2L
-                    ))
-                    .parcelsCountByDeliveryType(Map.of(
-                            DeliveryType.ECONOM, 1L,
-                            DeliveryType.DEFAULT, 2L,
-                            DeliveryType.EXPRESS, 2L
-                    ))
-                    .mostExpensiveParcel(buildParcel_4_from_Antony_to_James_DELIVERED_EXPRESS())
-                    .cheapestParcel(buildParcel_3_from_Lucas_to_Olivia_DELIVERED_ECONOM())
-                    .heaviestParcel(buildParcel_4_from_Antony_to_James_DELIVERED_EXPRESS())
-                    .lightestParcel(buildParcel_3_from_Lucas_to_Olivia_DELIVERED_ECONOM())
-                    .build();
-        }
-
-        public static ParcelStatistic buildParcelStatistic_1_2_4_5() {
-            return ParcelStatistic.builder()
-                    .totalParcels(4)
-                    .averageWeight((WEIGHT_1 + WEIGHT_2 + WEIGHT_4 + WEIGHT_5) / 4)
-                    .averagePrice((PRICE_1 + PRICE_2 + PRICE_4 + PRICE_5) / 4)
-                    .parcelsCountByStatus(Map.of(
-                            ParcelStatus.CREATED, 1L,
-                            ParcelStatus.IN_TRANSIT, 2L,
-                            ParcelStatus.DELIVERED, 1L
-                    ))
-                    .parcelsCountByDeliveryType(Map.of(
-                            DeliveryType.ECONOM, 0L,
-                            DeliveryType.DEFAULT, 2L,
-                            DeliveryType.EXPRESS, 2L
-                    ))
-                    .mostExpensiveParcel(buildParcel_4_from_Antony_to_James_DELIVERED_EXPRESS())
-                    .cheapestParcel(buildParcel_5_from_Lucas_to_Olivia_IN_TRANSIT_DEFAULT())
-                    .heaviestParcel(buildParcel_4_from_Antony_to_James_DELIVERED_EXPRESS())
-                    .lightestParcel(buildParcel_5_from_Lucas_to_Olivia_IN_TRANSIT_DEFAULT())
-                    .build();
-        }
-
-        public static ParcelStatistic buildParcelStatistic_Empty() {
-            return ParcelStatistic.builder()
-                    .totalParcels(0)
-                    .averageWeight(0)
-                    .averagePrice(0)
-                    .parcelsCountByStatus(Map.of(
-                            ParcelStatus.CREATED, 0L,
-                            ParcelStatus.IN_TRANSIT, 0L,
-                            ParcelStatus.DELIVERED, 0L
-                    ))
-                    .parcelsCountByDeliveryType(Map.of(
-                            DeliveryType.ECONOM, 0L,
-                            DeliveryType.DEFAULT, 0L,
-                            DeliveryType.EXPRESS, 0L
-                    ))
-                    .mostExpensiveParcel(null)
-                    .cheapestParcel(null)
-                    .heaviestParcel(null)
-                    .lightestParcel(null)
-                    .build();
-        }
-    }
-}
\ No newline at end of file
+}
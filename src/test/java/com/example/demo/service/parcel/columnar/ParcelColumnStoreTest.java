@@ -0,0 +1,113 @@
+package com.example.demo.service.parcel.columnar;
+
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.example.demo.util.TestResources.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParcelColumnStoreTest {
+
+    private final ParcelColumnStore store = new ParcelColumnStore(Integer.MAX_VALUE);
+
+    static Stream<Arguments> provideStatisticTestArguments() {
+        return Stream.of(
+                Arguments.of(ParcelSearchParams.builder().build(), buildParcelStatistic_Initial()),
+                Arguments.of(
+                        ParcelSearchParams.builder()
+                                .deliveryTypes(List.of(DeliveryType.EXPRESS, DeliveryType.DEFAULT)).build(),
+                        buildParcelStatistic_1_2_4_5()
+                ),
+                Arguments.of(
+                        ParcelSearchParams.builder().trackingNumber("invalidTrackingNumber").build(),
+                        buildParcelStatistic_Empty()
+                )
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideStatisticTestArguments")
+    void givenParams_statistic_shouldMatchDatabaseStatistic(ParcelSearchParams params, ParcelStatistic expected) {
+        load();
+
+        assertThat(store.statistic(params))
+                .usingRecursiveComparison()
+                .ignoringFieldsMatchingRegexes(".*." + Parcel.Fields.id)
+                .isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void givenRangeAndTextFilters_findAll_shouldMatchWithAndWithoutSortedIndex(boolean reindex) {
+        load();
+        if (reindex) {
+            store.reindex();
+        }
+
+        Page<Parcel> page = store.findAll(ParcelSearchParams.builder()
+                .fromWeight(FROM_WEIGHT_MATCHING_1_2_4)
+                .sender("antony")
+                .build(), PAGEABLE);
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent())
+                .extracting(Parcel::getTrackingNumber)
+                .containsExactly(TRACKING_NUMBER_1, TRACKING_NUMBER_4);
+    }
+
+    @Test
+    void givenSortAndPage_findAll_shouldReturnRequestedSlice() {
+        load();
+
+        Page<Parcel> page = store.findAll(ParcelSearchParams.builder().build(),
+                PageRequest.of(1, 2, Sort.by(Sort.Order.desc(Parcel.Fields.price))));
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent())
+                .extracting(Parcel::getTrackingNumber)
+                .containsExactly(TRACKING_NUMBER_2, TRACKING_NUMBER_5);
+    }
+
+    @Test
+    void givenTextOrEnumSort_supports_shouldLeaveSortToDatabase() {
+        assertThat(store.supports(Sort.by(Parcel.Fields.price, Parcel.Fields.id))).isTrue();
+        assertThat(store.supports(Sort.unsorted())).isTrue();
+        assertThat(store.supports(Sort.by(Parcel.Fields.price, Parcel.Fields.sender))).isFalse();
+        assertThat(store.supports(Sort.by(Parcel.Fields.status))).isFalse();
+    }
+
+    @Test
+    void givenStatusChanges_updateStatus_shouldMoveRowAndIgnoreStaleVersions() {
+        load();
+
+        store.updateStatus(TRACKING_NUMBER_1, ParcelStatus.DELIVERED, 2);
+        store.updateStatus(TRACKING_NUMBER_1, ParcelStatus.IN_TRANSIT, 1);
+
+        ParcelStatistic statistic = store.statistic(ParcelSearchParams.builder()
+                .statuses(List.of(ParcelStatus.DELIVERED))
+                .build());
+        assertThat(statistic.getTotalParcels()).isEqualTo(3);
+        assertThat(statistic.getParcelsCountByStatus().get(ParcelStatus.CREATED)).isZero();
+    }
+
+    private void load() {
+        List<Parcel> parcels = buildInitialParcels();
+        for (int i = 0; i < parcels.size(); i++) {
+            store.upsert(parcels.get(i).toBuilder().id(i + 1L).build());
+        }
+    }
+}
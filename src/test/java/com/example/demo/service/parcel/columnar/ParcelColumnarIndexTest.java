@@ -0,0 +1,72 @@
+package com.example.demo.service.parcel.columnar;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.repository.ParcelRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static com.example.demo.util.TestResources.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ParcelColumnarIndexTest {
+
+    private final ParcelRepository parcelRepository = mock(ParcelRepository.class);
+
+    @Test
+    void givenLoadFinishingAfterMiss_statusChanged_shouldApplyStatus() {
+        Parcel loaded = buildParcel_1_from_Antony_to_John_CREATED_EXPRESS();
+        loaded.setId(1L);
+        when(parcelRepository.streamAll(any(), anyInt())).thenReturn(Stream.of(loaded));
+        AtomicReference<ParcelColumnarIndex> index = new AtomicReference<>();
+        // Completes the load, and so sets ready, between the first miss and the pending-status lock
+        ParcelColumnStore store = new ParcelColumnStore(Integer.MAX_VALUE) {
+            private boolean missed;
+
+            @Override
+            public boolean updateStatus(String trackingNumber, ParcelStatus status, long version) {
+                boolean updated = super.updateStatus(trackingNumber, status, version);
+                if (!updated && !missed) {
+                    missed = true;
+                    index.get().load();
+                    awaitReady(index.get());
+                }
+                return updated;
+            }
+        };
+        index.set(new ParcelColumnarIndex(parcelRepository, mock(PlatformTransactionManager.class),
+                enabledProperties(), new SimpleMeterRegistry(), store));
+
+        index.get().statusChanged(loaded.getTrackingNumber(), ParcelStatus.DELIVERED, loaded.getVersion() + 1);
+
+        assertThat(index.get().findAll(ParcelSearchParams.builder().build(), PageRequest.of(0, 10)))
+                .extracting(Parcel::getStatus)
+                .containsExactly(ParcelStatus.DELIVERED);
+    }
+
+    private static ParcelProperties enabledProperties() {
+        ParcelProperties properties = new ParcelProperties();
+        properties.getColumnar().setEnabled(true);
+        return properties;
+    }
+
+    private static void awaitReady(ParcelColumnarIndex index) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!index.isReady()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
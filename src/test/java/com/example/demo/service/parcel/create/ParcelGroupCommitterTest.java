@@ -0,0 +1,147 @@
+package com.example.demo.service.parcel.create;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.model.Parcel;
+import com.example.demo.repository.ParcelRepository;
+import com.example.demo.service.parcel.statistic.ParcelStatisticCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ParcelGroupCommitterTest {
+
+    private final ParcelRepository parcelRepository = mock(ParcelRepository.class);
+    private final List<Integer> insertedBatchSizes = new CopyOnWriteArrayList<>();
+    // Every caller blocks until its batch commits, so each one needs its own thread
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private ParcelGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        committer.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void givenConcurrentInserts_insert_shouldWriteThemInOneTransaction() {
+        committer = committer(4, Duration.ofSeconds(5));
+        when(parcelRepository.insertAll(any())).thenAnswer(invocation -> {
+            List<Parcel> parcels = invocation.getArgument(0);
+            insertedBatchSizes.add(parcels.size());
+            return parcels;
+        });
+
+        List<CompletableFuture<Parcel>> inserts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Parcel parcel = parcel("TN" + i);
+            inserts.add(CompletableFuture.supplyAsync(() -> committer.insert(parcel), callers));
+        }
+
+        assertThat(inserts.stream().map(CompletableFuture::join).map(Parcel::getTrackingNumber))
+                .containsExactlyInAnyOrder("TN0", "TN1", "TN2", "TN3");
+        assertThat(insertedBatchSizes).containsExactly(4);
+    }
+
+    @Test
+    void givenLoneInsert_insert_shouldFlushAfterMaxDelay() {
+        committer = committer(100, Duration.ofMillis(20));
+        when(parcelRepository.insertAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThat(committer.insert(parcel("TN")).getTrackingNumber()).isEqualTo("TN");
+    }
+
+    @Test
+    void givenFailingBatch_insert_shouldFailOnlyOffendingParcel() {
+        committer = committer(2, Duration.ofSeconds(5));
+        when(parcelRepository.insertAll(any())).thenThrow(new IllegalStateException("duplicate"));
+        when(parcelRepository.save(any())).thenAnswer(invocation -> {
+            Parcel parcel = invocation.getArgument(0);
+            if (parcel.getTrackingNumber().equals("BAD")) {
+                throw new IllegalStateException("duplicate");
+            }
+            return parcel;
+        });
+
+        CompletableFuture<Parcel> good = CompletableFuture.supplyAsync(() -> committer.insert(parcel("GOOD")), callers);
+        CompletableFuture<Parcel> bad = CompletableFuture.supplyAsync(() -> committer.insert(parcel("BAD")), callers);
+
+        assertThat(good.join().getTrackingNumber()).isEqualTo("GOOD");
+        assertThatThrownBy(bad::join).hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void givenBatchFailingWithError_insert_shouldFailCallerAndKeepFlushing() {
+        committer = committer(1, Duration.ofMillis(1));
+        when(parcelRepository.insertAll(any()))
+                .thenThrow(new StackOverflowError())
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        CompletableFuture<Parcel> failed = CompletableFuture.supplyAsync(() -> committer.insert(parcel("TN1")), callers);
+
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).hasRootCauseInstanceOf(StackOverflowError.class);
+        assertThat(committer.insert(parcel("TN2")).getTrackingNumber()).isEqualTo("TN2");
+    }
+
+    @Test
+    void givenSlowCommit_insert_shouldTimeOut() {
+        committer = committer(1, Duration.ofMillis(1), Duration.ofMillis(50));
+        when(parcelRepository.insertAll(any())).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return invocation.getArgument(0);
+        });
+
+        assertThatThrownBy(() -> committer.insert(parcel("TN")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Timed out");
+    }
+
+    @Test
+    void givenShutdown_insert_shouldFailInsteadOfWaiting() throws InterruptedException {
+        committer = committer(1, Duration.ofMillis(1));
+        committer.shutdown();
+
+        assertThatThrownBy(() -> committer.insert(parcel("TN")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shut down");
+    }
+
+    private ParcelGroupCommitter committer(int maxBatchSize, Duration maxDelay) {
+        return committer(maxBatchSize, maxDelay, Duration.ofSeconds(30));
+    }
+
+    private ParcelGroupCommitter committer(int maxBatchSize, Duration maxDelay, Duration commitTimeout) {
+        ParcelProperties properties = new ParcelProperties();
+        properties.getGroupCommit().setEnabled(true);
+        properties.getGroupCommit().setMaxBatchSize(maxBatchSize);
+        properties.getGroupCommit().setMaxDelay(maxDelay);
+        properties.getGroupCommit().setCommitTimeout(commitTimeout);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new ParcelGroupCommitter(parcelRepository, new ParcelStatisticCache(properties, registry),
+                transactionManager, properties, registry);
+    }
+
+    private static Parcel parcel(String trackingNumber) {
+        Parcel parcel = new Parcel();
+        parcel.setTrackingNumber(trackingNumber);
+        return parcel;
+    }
+}
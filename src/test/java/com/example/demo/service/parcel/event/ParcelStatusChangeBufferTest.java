@@ -0,0 +1,59 @@
+package com.example.demo.service.parcel.event;
+
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParcelStatusChangeBufferTest {
+
+    private static final ParcelStatusChangeFilter ALL = ParcelStatusChangeFilter.of(null, null, null);
+
+    private final ParcelStatusChangeBuffer buffer = new ParcelStatusChangeBuffer(4);
+
+    @Test
+    void givenPublishedChange_read_shouldReturnIt() {
+        buffer.publish(parcel("TN1", ParcelStatus.DELIVERED));
+
+        assertThat(buffer.read(0, ALL).trackingNumber()).isEqualTo("TN1");
+        assertThat(buffer.read(0, ALL).status()).isEqualTo(ParcelStatus.DELIVERED);
+        assertThat(buffer.read(1, ALL)).isNull();
+    }
+
+    @Test
+    void givenWrappedBuffer_read_shouldReportOverrun() {
+        for (int i = 0; i < 6; i++) {
+            buffer.publish(parcel("TN" + i, ParcelStatus.IN_TRANSIT));
+        }
+
+        assertThatThrownBy(() -> buffer.read(1, ALL)).isInstanceOf(ParcelStatusChangeBuffer.OverrunException.class);
+        assertThat(buffer.oldestSequence()).isEqualTo(2);
+        assertThat(buffer.read(2, ALL).trackingNumber()).isEqualTo("TN2");
+        assertThat(buffer.read(5, ALL).trackingNumber()).isEqualTo("TN5");
+    }
+
+    @Test
+    void givenNonMatchingChange_read_shouldSkipIt() {
+        buffer.publish("TN1", "Antony", "John", ParcelStatus.DELIVERED, 1);
+        buffer.publish("TN2", "Emma", "John", ParcelStatus.DELIVERED, 1);
+        ParcelStatusChangeFilter filter = ParcelStatusChangeFilter.of(null, "emma", null);
+
+        assertThat(buffer.read(0, filter)).isSameAs(ParcelStatusChangeBuffer.SKIPPED);
+        assertThat(buffer.read(1, filter).sender()).isEqualTo("Emma");
+        assertThat(buffer.read(2, filter)).isNull();
+    }
+
+    @Test
+    void givenNonPowerOfTwoCapacity_constructor_shouldFail() {
+        assertThatThrownBy(() -> new ParcelStatusChangeBuffer(3)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Parcel parcel(String trackingNumber, ParcelStatus status) {
+        Parcel parcel = new Parcel();
+        parcel.setTrackingNumber(trackingNumber);
+        parcel.setStatus(status);
+        return parcel;
+    }
+}
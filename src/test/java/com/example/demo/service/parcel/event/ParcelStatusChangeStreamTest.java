@@ -0,0 +1,168 @@
+package com.example.demo.service.parcel.event;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.exception.TooManyRequestsException;
+import com.example.demo.model.ParcelStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParcelStatusChangeStreamTest {
+
+    private static final ParcelStatusChangeFilter ALL = ParcelStatusChangeFilter.of(null, null, null);
+
+    private ParcelStatusChangeStream stream;
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void givenFilter_subscribe_shouldOnlySendMatchingChanges() throws Exception {
+        stream = stream(8, ParcelProperties.StatusChangeOverflow.DROP, 10);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(ParcelStatusChangeFilter.of(null, "antony", null), null, emitter);
+
+        stream.publish("TN1", "Emma", "John", ParcelStatus.IN_TRANSIT, 1);
+        stream.publish("TN2", "Antony", "John", ParcelStatus.DELIVERED, 1);
+
+        assertThat(emitter.next()).contains("event:status").contains("TN2").doesNotContain("TN1");
+        assertThat(emitter.events).isEmpty();
+    }
+
+    @Test
+    void givenSlowSubscriberWithDropOverflow_subscribe_shouldReportDroppedChangesAndCatchUp() throws Exception {
+        stream = stream(8, ParcelProperties.StatusChangeOverflow.DROP, 10);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(ALL, null, emitter);
+
+        stream.publish("TN0", "Antony", "John", ParcelStatus.IN_TRANSIT, 1);
+        emitter.awaitBlocked();
+        for (int i = 1; i <= 20; i++) {
+            stream.publish("TN" + i, "Antony", "John", ParcelStatus.IN_TRANSIT, 1);
+        }
+        emitter.release();
+
+        assertThat(emitter.next()).contains("TN0");
+        // 21 changes in a ring of 8: the subscriber skips to 15, a quarter buffer past the oldest retained one
+        assertThat(emitter.next()).contains("event:dropped").contains("14");
+        List<String> rest = new ArrayList<>();
+        for (int i = 15; i <= 20; i++) {
+            rest.add(emitter.next());
+        }
+        assertThat(rest.getFirst()).contains("TN15");
+        assertThat(rest.getLast()).contains("TN20");
+    }
+
+    @Test
+    void givenSlowSubscriberWithDisconnectOverflow_subscribe_shouldCompleteAndFreeSlot() throws Exception {
+        stream = stream(8, ParcelProperties.StatusChangeOverflow.DISCONNECT, 1);
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(ALL, null, emitter);
+
+        stream.publish("TN0", "Antony", "John", ParcelStatus.IN_TRANSIT, 1);
+        emitter.awaitBlocked();
+        for (int i = 1; i <= 20; i++) {
+            stream.publish("TN" + i, "Antony", "John", ParcelStatus.IN_TRANSIT, 1);
+        }
+        emitter.release();
+
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.next()).contains("TN0");
+        assertThat(emitter.events).isEmpty();
+        assertThat(subscribeWithin(Duration.ofSeconds(5))).isTrue();
+    }
+
+    @Test
+    void givenMaxSubscribers_subscribe_shouldReject() {
+        stream = stream(8, ParcelProperties.StatusChangeOverflow.DROP, 1);
+        stream.subscribe(ALL, null, new RecordingEmitter());
+
+        assertThatThrownBy(() -> stream.subscribe(ALL, null, new RecordingEmitter()))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    private boolean subscribeWithin(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                stream.subscribe(ALL, null, new RecordingEmitter());
+                return true;
+            } catch (TooManyRequestsException e) {
+                Thread.sleep(10);
+            }
+        }
+        return false;
+    }
+
+    private static ParcelStatusChangeStream stream(int bufferSize, ParcelProperties.StatusChangeOverflow overflow,
+                                                   int maxSubscribers) {
+        ParcelProperties properties = new ParcelProperties();
+        properties.getStatusChanges().setBufferSize(bufferSize);
+        properties.getStatusChanges().setOverflow(overflow);
+        properties.getStatusChanges().setMaxSubscribers(maxSubscribers);
+        properties.getStatusChanges().setHeartbeatInterval(Duration.ofMinutes(1));
+        return new ParcelStatusChangeStream(properties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Records events instead of writing them to a response. The first send blocks until released, which makes
+     * the subscriber as slow as a test needs it to be.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String event = builder.build().stream()
+                    .map(data -> String.valueOf(data.getData()))
+                    .collect(Collectors.joining());
+            blocked.countDown();
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private void awaitBlocked() throws InterruptedException {
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        private void release() {
+            released.countDown();
+        }
+
+        private String next() throws InterruptedException {
+            // Tests that never block the emitter release it on first use
+            released.countDown();
+            String event = events.poll(5, TimeUnit.SECONDS);
+            assertThat(event).isNotNull();
+            return event;
+        }
+    }
+}
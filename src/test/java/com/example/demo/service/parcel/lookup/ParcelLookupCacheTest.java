@@ -0,0 +1,49 @@
+package com.example.demo.service.parcel.lookup;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.Parcel;
+import com.example.demo.model.ParcelStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParcelLookupCacheTest {
+
+    private final ParcelLookupCache cache = new ParcelLookupCache(new ParcelProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void givenNewerParcelCached_put_shouldKeepNewerParcel() {
+        cache.put(parcel(ParcelStatus.DELIVERED, 2));
+
+        cache.put(parcel(ParcelStatus.CREATED, 1));
+
+        assertThat(cache.get("TN1")).get().extracting(Parcel::getStatus).isEqualTo(ParcelStatus.DELIVERED);
+    }
+
+    @Test
+    void givenInvalidatedParcel_put_shouldOnlyAcceptInvalidatedVersionOrNewer() {
+        cache.put(parcel(ParcelStatus.CREATED, 0));
+        cache.invalidate("TN1", 1);
+
+        assertThat(cache.get("TN1")).isEmpty();
+        cache.put(parcel(ParcelStatus.CREATED, 0));
+        assertThat(cache.get("TN1")).isEmpty();
+        cache.put(parcel(ParcelStatus.IN_TRANSIT, 1));
+        assertThat(cache.get("TN1")).get().extracting(Parcel::getStatus).isEqualTo(ParcelStatus.IN_TRANSIT);
+    }
+
+    @Test
+    void givenCachedParcel_get_shouldReturnCopyEveryTime() {
+        cache.put(parcel(ParcelStatus.CREATED, 0));
+
+        cache.get("TN1").orElseThrow().setStatus(ParcelStatus.DELIVERED);
+
+        assertThat(cache.get("TN1")).get().extracting(Parcel::getStatus).isEqualTo(ParcelStatus.CREATED);
+    }
+
+    private static Parcel parcel(ParcelStatus status, long version) {
+        return new Parcel(1L, "TN1", "Sender", "Recipient", 2.5, 400.0, status, DeliveryType.EXPRESS, version);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.dto.ApproximateParcelStatistic;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+import com.example.demo.repository.ParcelRepository;
+import com.example.demo.repository.SampledParcelConsumer;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ApproximateParcelStatisticCalculatorTest {
+
+    private static final double Z_95 = 1.959964;
+
+    private final ParcelRepository parcelRepository = mock(ParcelRepository.class);
+    private final ParcelProperties properties = new ParcelProperties();
+    private final ApproximateParcelStatisticCalculator calculator =
+            new ApproximateParcelStatisticCalculator(parcelRepository, properties);
+
+    @Test
+    void givenTenPercentSample_calculate_shouldScaleCountsByFraction() {
+        // 40 sampled parcels: 10 CREATED and 30 DELIVERED, every other one EXPRESS
+        sample(consumer -> {
+            for (int i = 0; i < 40; i++) {
+                consumer.accept(10.0, 20.0, i < 10 ? ParcelStatus.CREATED : ParcelStatus.DELIVERED,
+                        i % 2 == 0 ? DeliveryType.EXPRESS : DeliveryType.ECONOM);
+            }
+        });
+
+        ApproximateParcelStatistic result = calculator.calculate(ParcelSearchParams.builder().build(), 10);
+
+        assertThat(result.getSampledParcels()).isEqualTo(40);
+        assertThat(result.getStatistic().getTotalParcels()).isEqualTo(400);
+        assertThat(result.getStatistic().getParcelsCountByStatus())
+                .containsEntry(ParcelStatus.CREATED, 100L)
+                .containsEntry(ParcelStatus.IN_TRANSIT, 0L)
+                .containsEntry(ParcelStatus.DELIVERED, 300L);
+        assertThat(result.getStatistic().getParcelsCountByDeliveryType())
+                .containsEntry(DeliveryType.EXPRESS, 200L)
+                .containsEntry(DeliveryType.ECONOM, 200L)
+                .containsEntry(DeliveryType.DEFAULT, 0L);
+    }
+
+    @Test
+    void givenTenPercentSample_calculate_shouldBoundCountErrorsByBinomialVariance() {
+        sample(consumer -> {
+            for (int i = 0; i < 40; i++) {
+                consumer.accept(10.0, 20.0, i < 10 ? ParcelStatus.CREATED : ParcelStatus.DELIVERED,
+                        DeliveryType.EXPRESS);
+            }
+        });
+
+        ApproximateParcelStatistic result = calculator.calculate(ParcelSearchParams.builder().build(), 10);
+
+        assertThat(result.getConfidenceLevel()).isEqualTo(0.95);
+        assertThat(result.getTotalParcelsError()).isCloseTo(Z_95 * Math.sqrt(40 * 0.9) / 0.1, within(1e-9));
+        assertThat(result.getParcelsCountByStatusError().get(ParcelStatus.CREATED))
+                .isCloseTo(Z_95 * Math.sqrt(10 * 0.9) / 0.1, within(1e-9));
+        assertThat(result.getParcelsCountByStatusError().get(ParcelStatus.IN_TRANSIT))
+                .isCloseTo(Math.log(0.05) / Math.log(0.9), within(1e-9));
+    }
+
+    @Test
+    void givenEmptySample_calculate_shouldReportUnknownValuesAndCountUpperBound() {
+        sample(consumer -> {
+        });
+
+        ApproximateParcelStatistic result = calculator.calculate(ParcelSearchParams.builder().build(), 1);
+
+        assertThat(result.getStatistic().getTotalParcels()).isZero();
+        // Rule of three: about 3 / 0.01 parcels could still go unsampled at 95% confidence
+        assertThat(result.getTotalParcelsError()).isCloseTo(Math.log(0.05) / Math.log(0.99), within(1e-9))
+                .isCloseTo(300, within(5.0));
+        assertThat(result.getStatistic().getAverageWeight()).isNull();
+        assertThat(result.getStatistic().getAveragePrice()).isNull();
+        assertThat(result.getWeightPercentiles()).isNull();
+        assertThat(result.getPricePercentiles()).isNull();
+    }
+
+    @Test
+    void givenFullSample_calculate_shouldReportExactCountsWithoutError() {
+        sample(consumer -> {
+            consumer.accept(1.0, 2.0, ParcelStatus.CREATED, DeliveryType.DEFAULT);
+            consumer.accept(3.0, 4.0, ParcelStatus.CREATED, DeliveryType.DEFAULT);
+        });
+
+        ApproximateParcelStatistic result = calculator.calculate(ParcelSearchParams.builder().build(), 100);
+
+        assertThat(result.getStatistic().getTotalParcels()).isEqualTo(2);
+        assertThat(result.getTotalParcelsError()).isZero();
+    }
+
+    @Test
+    void givenSample_calculate_shouldBoundMeanErrorsByStandardError() {
+        // weights 2, 4, 6, 8: mean 5, sample variance 20 / 3
+        sample(consumer -> {
+            for (int weight = 2; weight <= 8; weight += 2) {
+                consumer.accept(weight, 10.0, ParcelStatus.CREATED, DeliveryType.DEFAULT);
+            }
+        });
+
+        ApproximateParcelStatistic result = calculator.calculate(ParcelSearchParams.builder().build(), 50);
+
+        assertThat(result.getStatistic().getAverageWeight()).isCloseTo(5.0, within(1e-9));
+        assertThat(result.getAverageWeightError()).isCloseTo(Z_95 * Math.sqrt(20.0 / 3 / 4), within(1e-9));
+        assertThat(result.getStatistic().getAveragePrice()).isCloseTo(10.0, within(1e-9));
+        assertThat(result.getAveragePriceError()).isCloseTo(0.0, within(1e-9));
+    }
+
+    @Test
+    void givenSingleSampledParcel_calculate_shouldLeaveMeanErrorsUnknown() {
+        sample(consumer -> consumer.accept(1.0, 2.0, ParcelStatus.CREATED, DeliveryType.DEFAULT));
+
+        ApproximateParcelStatistic result = calculator.calculate(ParcelSearchParams.builder().build(), 1);
+
+        assertThat(result.getAverageWeightError()).isNull();
+        assertThat(result.getAveragePriceError()).isNull();
+    }
+
+    @Test
+    void givenSampleFetchSize_calculate_shouldUseIt() {
+        properties.getStatistic().getApproximate().setFetchSize(123);
+        sample(consumer -> {
+        });
+
+        calculator.calculate(ParcelSearchParams.builder().build(), 1);
+
+        verify(parcelRepository).sample(any(), anyDouble(), eq(123), any());
+    }
+
+    private void sample(Consumer<SampledParcelConsumer> rows) {
+        doAnswer(invocation -> {
+            rows.accept(invocation.getArgument(3));
+            return null;
+        }).when(parcelRepository).sample(any(), anyDouble(), anyInt(), any());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.model.Parcel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.example.demo.util.TestResources.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ParcelStatisticAccumulatorTest {
+
+    @Test
+    void givenParcels_toStatistic_shouldMatchDatabaseStatistic() {
+        ParcelStatisticAccumulator accumulator = new ParcelStatisticAccumulator();
+        buildInitialParcels().forEach(accumulator::add);
+
+        assertThat(accumulator.toStatistic())
+                .usingRecursiveComparison()
+                .isEqualTo(buildParcelStatistic_Initial());
+    }
+
+    @Test
+    void givenPartialAccumulators_merge_shouldEqualSinglePass() {
+        List<Parcel> parcels = buildInitialParcels();
+        ParcelStatisticAccumulator left = new ParcelStatisticAccumulator();
+        parcels.subList(0, 2).forEach(left::add);
+        ParcelStatisticAccumulator right = new ParcelStatisticAccumulator();
+        parcels.subList(2, parcels.size()).forEach(right::add);
+
+        assertThat(left.merge(right).toStatistic())
+                .usingRecursiveComparison()
+                .isEqualTo(buildParcelStatistic_Initial());
+    }
+
+    @Test
+    void givenPartialStatistics_merge_shouldEqualSinglePass() {
+        List<Parcel> parcels = buildInitialParcels();
+        ParcelStatisticAccumulator left = new ParcelStatisticAccumulator();
+        parcels.subList(0, 2).forEach(left::add);
+        ParcelStatisticAccumulator right = new ParcelStatisticAccumulator();
+        parcels.subList(2, parcels.size()).forEach(right::add);
+
+        ParcelStatistic merged = new ParcelStatisticAccumulator()
+                .merge(left.toStatistic())
+                .merge(right.toStatistic())
+                .merge(new ParcelStatisticAccumulator().toStatistic())
+                .toStatistic();
+
+        assertThat(merged)
+                .usingRecursiveComparison()
+                .ignoringFields(ParcelStatistic.Fields.averageWeight, ParcelStatistic.Fields.averagePrice)
+                .isEqualTo(buildParcelStatistic_Initial());
+        assertThat(merged.getAverageWeight())
+                .isCloseTo(buildParcelStatistic_Initial().getAverageWeight(), within(1e-9));
+        assertThat(merged.getAveragePrice())
+                .isCloseTo(buildParcelStatistic_Initial().getAveragePrice(), within(1e-9));
+    }
+
+    @Test
+    void givenNoParcels_toStatistic_shouldReturnZeroFilledStatistic() {
+        ParcelStatistic statistic = new ParcelStatisticAccumulator().toStatistic();
+
+        assertThat(statistic)
+                .usingRecursiveComparison()
+                .isEqualTo(buildParcelStatistic_Empty());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.config.ReadReplicaRouting;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.model.DeliveryType;
+import com.example.demo.model.ParcelStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParcelStatisticCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ParcelStatisticCache cache = new ParcelStatisticCache(new ParcelProperties(), meterRegistry);
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @Test
+    void givenEquivalentParams_get_shouldComputeOnce() {
+        cache.get(ParcelSearchParams.builder()
+                .sender("Antony")
+                .recipient(" ")
+                .statuses(List.of(ParcelStatus.DELIVERED, ParcelStatus.CREATED))
+                .deliveryTypes(List.of(DeliveryType.values()))
+                .build(), this::compute);
+        cache.get(ParcelSearchParams.builder()
+                .sender("antony")
+                .statuses(List.of(ParcelStatus.CREATED, ParcelStatus.DELIVERED, ParcelStatus.CREATED))
+                .build(), this::compute);
+
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void givenWrite_get_shouldComputeAgain() {
+        ParcelSearchParams params = ParcelSearchParams.builder().build();
+        cache.get(params, this::compute);
+
+        cache.markModified();
+        cache.get(params, this::compute);
+
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void givenConcurrentIdenticalRequests_get_shouldShareComputation() throws Exception {
+        ParcelSearchParams params = ParcelSearchParams.builder().build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ParcelStatistic> first = CompletableFuture.supplyAsync(() -> cache.get(params, p -> {
+            started.countDown();
+            await(release);
+            return compute(p);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<ParcelStatistic> second = CompletableFuture.supplyAsync(() -> cache.get(params, this::compute));
+        release.countDown();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void givenUnpinnedComputationInFlight_get_shouldNotShareWithPinnedRequest() throws Exception {
+        ParcelSearchParams params = ParcelSearchParams.builder().build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ParcelStatistic> unpinned = CompletableFuture.supplyAsync(() -> cache.get(params, p -> {
+            started.countDown();
+            await(release);
+            return compute(p);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        ReadReplicaRouting.begin(true);
+        try {
+            cache.get(params, this::compute);
+            cache.get(params, this::compute);
+        } finally {
+            ReadReplicaRouting.end();
+            release.countDown();
+        }
+        unpinned.get(5, TimeUnit.SECONDS);
+
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void givenRepeatedRequest_get_shouldRecordHitAndMiss() {
+        ParcelSearchParams params = ParcelSearchParams.builder().build();
+
+        cache.get(params, this::compute);
+        cache.get(params, this::compute);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "parcelStatistics").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "parcelStatistics").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private ParcelStatistic compute(ParcelSearchParams params) {
+        return ParcelStatistic.builder().totalParcels(computations.incrementAndGet()).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
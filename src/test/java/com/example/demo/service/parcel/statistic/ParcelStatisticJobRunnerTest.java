@@ -0,0 +1,144 @@
+package com.example.demo.service.parcel.statistic;
+
+import com.example.demo.config.ParcelProperties;
+import com.example.demo.config.ReadReplicaRouting;
+import com.example.demo.dto.ParcelSearchParams;
+import com.example.demo.dto.ParcelStatistic;
+import com.example.demo.dto.ParcelStatisticJob;
+import com.example.demo.dto.StatisticJobStatus;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ParcelStatisticJobRunnerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger computations = new AtomicInteger();
+    private ParcelStatisticJobRunner runner;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        runner.shutdown();
+    }
+
+    @Test
+    void givenIdenticalInFlightJob_submit_shouldJoinIt() throws Exception {
+        runner = runner(1, 1, Duration.ofMinutes(1));
+
+        ParcelStatisticJob first = runner.submit(ParcelSearchParams.builder().sender("Antony").build());
+        ParcelStatisticJob second = runner.submit(ParcelSearchParams.builder().sender("antony").build());
+        release.countDown();
+
+        assertThat(second.getId()).isEqualTo(first.getId());
+        ParcelStatisticJob completed = awaitCompletion(first.getId());
+        assertThat(completed.getStatus()).isEqualTo(StatisticJobStatus.SUCCEEDED);
+        assertThat(completed.getStatistic().getTotalParcels()).isEqualTo(1);
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void givenUnpinnedJobInFlight_submit_shouldNotShareWithPinnedRequest() throws Exception {
+        runner = runner(2, 1, Duration.ofMinutes(1));
+        ParcelSearchParams params = ParcelSearchParams.builder().sender("Antony").build();
+
+        ParcelStatisticJob unpinned = runner.submit(params);
+        ParcelStatisticJob pinned;
+        ReadReplicaRouting.begin(true);
+        try {
+            pinned = runner.submit(params);
+        } finally {
+            ReadReplicaRouting.end();
+            release.countDown();
+        }
+
+        assertThat(pinned.getId()).isNotEqualTo(unpinned.getId());
+        assertThat(awaitCompletion(unpinned.getId()).getStatus()).isEqualTo(StatisticJobStatus.SUCCEEDED);
+        assertThat(awaitCompletion(pinned.getId()).getStatus()).isEqualTo(StatisticJobStatus.SUCCEEDED);
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void givenFullQueue_submit_shouldReject() {
+        runner = runner(1, 1, Duration.ofMinutes(1));
+
+        runner.submit(ParcelSearchParams.builder().sender("a").build());
+        runner.submit(ParcelSearchParams.builder().sender("b").build());
+
+        assertThatThrownBy(() -> runner.submit(ParcelSearchParams.builder().sender("c").build()))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidParams")
+    void givenInvalidParams_submit_shouldRejectWithoutQueueing(ParcelSearchParams params) {
+        runner = runner(1, 1, Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> runner.submit(params)).isInstanceOf(BadRequestException.class);
+        assertThat(computations).hasValue(0);
+    }
+
+    static Stream<ParcelSearchParams> invalidParams() {
+        return Stream.of(
+                ParcelSearchParams.builder().sender("Ant\0ny").build(),
+                ParcelSearchParams.builder().trackingNumber("\0").build(),
+                ParcelSearchParams.builder().fromWeight(10.0).toWeight(5.0).build(),
+                ParcelSearchParams.builder().fromPrice(Double.NaN).build(),
+                ParcelSearchParams.builder().toPrice(Double.POSITIVE_INFINITY).build()
+        );
+    }
+
+    @Test
+    void givenRetentionElapsed_find_shouldForgetJob() throws Exception {
+        runner = runner(1, 1, Duration.ofMillis(50));
+        release.countDown();
+
+        String id = runner.submit(ParcelSearchParams.builder().build()).getId();
+        awaitCompletion(id);
+        Thread.sleep(100);
+
+        assertThat(runner.find(id)).isEmpty();
+    }
+
+    private ParcelStatisticJobRunner runner(int poolSize, int queueCapacity, Duration retention) {
+        ParcelProperties properties = new ParcelProperties();
+        properties.getStatistic().getJobs().setPoolSize(poolSize);
+        properties.getStatistic().getJobs().setQueueCapacity(queueCapacity);
+        properties.getStatistic().getJobs().setRetention(retention);
+        PartitionedParcelStatisticCalculator calculator = mock(PartitionedParcelStatisticCalculator.class);
+        when(calculator.calculate(any(ParcelSearchParams.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return ParcelStatistic.builder().totalParcels(computations.incrementAndGet()).build();
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new ParcelStatisticJobRunner(new ParcelStatisticCache(properties, registry), calculator, properties,
+                registry);
+    }
+
+    private ParcelStatisticJob awaitCompletion(String id) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            ParcelStatisticJob job = runner.find(id).orElseThrow();
+            if (job.getCompletedAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Job " + id + " did not complete");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.service.parcel.statistic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+
+    @Test
+    void givenValues_quantile_shouldStayWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        double[] values = new double[100_000];
+        QuantileSketch sketch = new QuantileSketch(ACCURACY);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 2);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[]{0, 0.5, 0.95, 0.99, 1}) {
+            double exact = values[(int) (q * (values.length - 1))];
+            assertThat(sketch.quantile(q)).isCloseTo(exact, within(exact * ACCURACY));
+        }
+    }
+
+    @Test
+    void givenPartialSketches_merge_shouldEqualSinglePass() {
+        QuantileSketch single = new QuantileSketch(ACCURACY);
+        QuantileSketch left = new QuantileSketch(ACCURACY);
+        QuantileSketch right = new QuantileSketch(ACCURACY);
+        for (int i = 1; i <= 1_000; i++) {
+            single.add(i);
+            (i % 2 == 0 ? left : right).add(i);
+        }
+        left.merge(right);
+
+        assertThat(left.getCount()).isEqualTo(1_000);
+        for (double q : new double[]{0.1, 0.5, 0.9}) {
+            assertThat(left.quantile(q)).isEqualTo(single.quantile(q));
+        }
+    }
+
+    @Test
+    void givenEmptySketch_quantile_shouldReturnZero() {
+        assertThat(new QuantileSketch(ACCURACY).quantile(0.5)).isZero();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.util;
+
+import com.example.demo.config.ParcelProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CommonGeneratorTest {
+
+    @Test
+    void givenTimeOrderedStrategy_uuid_shouldGenerateVersion7Uuids() {
+        UUID uuid = UUID.fromString(buildGenerator(UuidStrategy.TIME_ORDERED).uuid());
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isCloseTo(System.currentTimeMillis(), within(10_000L));
+    }
+
+    @Test
+    void givenTimeOrderedStrategy_uuid_shouldGenerateUniqueValuesOrderedByTime() throws InterruptedException {
+        CommonGenerator generator = buildGenerator(UuidStrategy.TIME_ORDERED);
+
+        List<String> first = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            first.add(generator.uuid());
+        }
+        Thread.sleep(2);
+        String later = generator.uuid();
+
+        assertThat(new HashSet<>(first)).hasSize(first.size());
+        assertThat(first).allSatisfy(uuid -> assertThat(uuid).isLessThan(later));
+    }
+
+    @Test
+    void givenRandomStrategy_uuid_shouldGenerateVersion4Uuids() {
+        UUID uuid = UUID.fromString(buildGenerator(UuidStrategy.RANDOM).uuid());
+
+        assertThat(uuid.version()).isEqualTo(4);
+    }
+
+    private static CommonGenerator buildGenerator(UuidStrategy strategy) {
+        ParcelProperties properties = new ParcelProperties();
+        properties.getTrackingNumber().setStrategy(strategy);
+        return new CommonGenerator(properties);
+    }
+}